@@ -1,14 +1,17 @@
 package com.scms.aspect;
 
+import com.scms.config.LoginThrottledException;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Aspect;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 @Aspect
 @Component
+@ConditionalOnProperty(name = "scms.exception-logging.aspect.enabled", havingValue = "true", matchIfMissing = true)
 public class ExceptionHandlingAspect {
     
     private static final Logger logger = LoggerFactory.getLogger(ExceptionHandlingAspect.class);
@@ -18,6 +21,12 @@ public class ExceptionHandlingAspect {
         String methodName = joinPoint.getSignature().getName();
         String className = joinPoint.getTarget().getClass().getSimpleName();
         
+        // Expected under load and counted by BoundedPasswordEncoder; a stack trace each would add to it
+        if (error instanceof LoginThrottledException) {
+            logger.debug("Login throttled in {}.{}", className, methodName);
+            return;
+        }
+        
         logger.error("Exception in {}.{}: {}", className, methodName, error.getMessage());
         
         if (error instanceof RuntimeException) {
@@ -1,38 +1,46 @@
 package com.scms.aspect;
 
-import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.annotation.AfterReturning;
-import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.ThreadLocalRandom;
+
+// Trace logging for service calls. Lines go to the target class's own logger at DEBUG, so they
+// can be switched per package with logging.level.*; only 1 in sample-rate calls is logged.
 @Aspect
 @Component
+@ConditionalOnProperty(name = "scms.logging.aspect.enabled", havingValue = "true", matchIfMissing = true)
 public class LoggingAspect {
     
-    private static final Logger logger = LoggerFactory.getLogger(LoggingAspect.class);
-    
-    @Before("execution(* com.scms.service.*.*(..))")
-    public void logBeforeMethodExecution(JoinPoint joinPoint) {
-        String methodName = joinPoint.getSignature().getName();
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        logger.info("Executing method: {}.{}", className, methodName);
-    }
-    
-    @AfterReturning(pointcut = "execution(* com.scms.service.*.*(..))", returning = "result")
-    public void logAfterMethodSuccess(JoinPoint joinPoint, Object result) {
-        String methodName = joinPoint.getSignature().getName();
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        logger.info("Method {}.{} completed successfully", className, methodName);
-    }
+    @Value("${scms.logging.aspect.sample-rate:1}")
+    private int sampleRate;
     
-    @AfterThrowing(pointcut = "execution(* com.scms.service.*.*(..))", throwing = "error")
-    public void logAfterMethodError(JoinPoint joinPoint, Throwable error) {
-        String methodName = joinPoint.getSignature().getName();
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        logger.error("Method {}.{} failed with error: {}", className, methodName, error.getMessage());
+    @Around("execution(* com.scms.service.*.*(..))")
+    public Object logServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        Logger logger = LoggerFactory.getLogger(joinPoint.getSignature().getDeclaringType());
+        
+        // Nothing below is built unless this call is actually going to be logged
+        boolean traced = logger.isDebugEnabled()
+            && (sampleRate <= 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0);
+        if (traced) {
+            logger.debug("Executing method: {}", joinPoint.getSignature().getName());
+        }
+        
+        try {
+            Object result = joinPoint.proceed();
+            if (traced) {
+                logger.debug("Method {} completed successfully", joinPoint.getSignature().getName());
+            }
+            return result;
+        } catch (Throwable error) {
+            logger.error("Method {} failed with error: {}", joinPoint.getSignature().getName(), error.getMessage());
+            throw error;
+        }
     }
 }
@@ -1,43 +1,104 @@
 package com.scms.aspect;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-method latency timers (p50/p99/p999) and error counters, exposed through
+// /actuator/metrics/scms.service.calls and /actuator/metrics/scms.service.errors
 @Aspect
 @Component
+@ConditionalOnProperty(name = "scms.metrics.aspect.enabled", havingValue = "true", matchIfMissing = true)
 public class PerformanceMonitoringAspect {
     
     private static final Logger logger = LoggerFactory.getLogger(PerformanceMonitoringAspect.class);
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${scms.metrics.slow-call-threshold-ms:1000}")
+    private long slowCallThresholdMillis;
+    
+    @Value("${scms.metrics.slow-call-log-interval-ms:10000}")
+    private long slowCallLogIntervalMillis;
+    
+    // Meters are built once per method; every later call is a map lookup and a record
+    private final ConcurrentHashMap<Method, MethodMeters> metersByMethod = new ConcurrentHashMap<>();
+    
     @Around("execution(* com.scms.service.*.*(..))")
     public Object monitorPerformance(ProceedingJoinPoint joinPoint) throws Throwable {
-        long startTime = System.currentTimeMillis();
-        String methodName = joinPoint.getSignature().getName();
-        String className = joinPoint.getTarget().getClass().getSimpleName();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodMeters meters = metersByMethod.get(method);
+        if (meters == null) {
+            meters = metersByMethod.computeIfAbsent(method, this::createMeters);
+        }
         
+        long startTime = System.nanoTime();
         try {
-            Object result = joinPoint.proceed();
-            long endTime = System.currentTimeMillis();
-            long executionTime = endTime - startTime;
-            
-            logger.info("Method {}.{} executed in {} ms", className, methodName, executionTime);
-            
-            if (executionTime > 1000) {
-                logger.warn("Slow execution detected: {}.{} took {} ms", className, methodName, executionTime);
-            }
-            
-            return result;
+            return joinPoint.proceed();
         } catch (Throwable throwable) {
-            long endTime = System.currentTimeMillis();
-            long executionTime = endTime - startTime;
-            
-            logger.error("Method {}.{} failed after {} ms with error: {}", 
-                        className, methodName, executionTime, throwable.getMessage());
+            meters.errors.increment();
             throw throwable;
+        } finally {
+            long elapsedNanos = System.nanoTime() - startTime;
+            meters.timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            if (elapsedNanos > TimeUnit.MILLISECONDS.toNanos(slowCallThresholdMillis)) {
+                logSlowCall(method, meters, elapsedNanos);
+            }
+        }
+    }
+    
+    // At most one slow-call line per method per interval, so a degraded dependency cannot flood the log
+    private void logSlowCall(Method method, MethodMeters meters, long elapsedNanos) {
+        long now = System.currentTimeMillis();
+        long lastLogged = meters.lastSlowLogMillis.get();
+        if (now - lastLogged < slowCallLogIntervalMillis || !meters.lastSlowLogMillis.compareAndSet(lastLogged, now)) {
+            return;
+        }
+        logger.warn("Slow execution detected: {}.{} took {} ms ({} calls so far)",
+                    method.getDeclaringClass().getSimpleName(), method.getName(),
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), meters.timer.count());
+    }
+    
+    private MethodMeters createMeters(Method method) {
+        String className = method.getDeclaringClass().getSimpleName();
+        Timer timer = Timer.builder("scms.service.calls")
+            .description("Service method latency")
+            .tag("class", className)
+            .tag("method", method.getName())
+            .publishPercentiles(0.5, 0.99, 0.999)
+            .register(meterRegistry);
+        Counter errors = Counter.builder("scms.service.errors")
+            .description("Service method calls that threw")
+            .tag("class", className)
+            .tag("method", method.getName())
+            .register(meterRegistry);
+        return new MethodMeters(timer, errors);
+    }
+    
+    private static final class MethodMeters {
+        private final Timer timer;
+        private final Counter errors;
+        private final AtomicLong lastSlowLogMillis = new AtomicLong();
+        
+        private MethodMeters(Timer timer, Counter errors) {
+            this.timer = timer;
+            this.errors = errors;
         }
     }
 }
@@ -0,0 +1,138 @@
+package com.scms.cache;
+
+import com.scms.entity.Enrollment;
+import com.scms.repository.EnrollmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Per-course seat counters so enrollment admission is O(1). A seat is held by every
+// PENDING or ACTIVE enrollment; counters are seeded lazily from the database and
+// periodically reconciled against it.
+@Component
+public class CourseSeatRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseSeatRegistry.class);
+
+    private static final List<Enrollment.EnrollmentStatus> SEAT_HOLDING_STATUSES =
+        List.of(Enrollment.EnrollmentStatus.PENDING, Enrollment.EnrollmentStatus.ACTIVE);
+
+    private final ConcurrentHashMap<Long, Seats> seatsByCourse = new ConcurrentHashMap<>();
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    public static boolean holdsSeat(Enrollment.EnrollmentStatus status) {
+        return SEAT_HOLDING_STATUSES.contains(status);
+    }
+
+    // Seat is given back automatically if the surrounding transaction rolls back
+    public boolean tryReserve(Long courseId, int capacity) {
+        Seats seats = seatsFor(courseId);
+        while (true) {
+            int held = seats.held.get();
+            if (held >= capacity) {
+                return false;
+            }
+            if (seats.held.compareAndSet(held, held + 1)) {
+                undoOnRollback(seats);
+                return true;
+            }
+        }
+    }
+
+    // Admin re-activation takes a seat regardless of capacity
+    public void forceReserve(Long courseId) {
+        Seats seats = seatsFor(courseId);
+        seats.held.incrementAndGet();
+        undoOnRollback(seats);
+    }
+
+    // Seat is given back once the surrounding transaction commits
+    public void release(Long courseId) {
+        Seats seats = seatsByCourse.get(courseId);
+        if (seats != null) {
+            ReconciledEntry.afterCompletion(List.of(seats), seats::decrement, null);
+        }
+    }
+
+    public int getHeldSeats(Long courseId) {
+        return seatsFor(courseId).held.get();
+    }
+
+    public void evict(Long courseId) {
+        seatsByCourse.remove(courseId);
+    }
+
+    // A counter is only overwritten if no reservation touched it while the database was read
+    @Scheduled(fixedDelayString = "${scms.seats.reconcile-interval-ms:60000}",
+               initialDelayString = "${scms.seats.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        if (seatsByCourse.isEmpty()) {
+            return;
+        }
+
+        int corrected = ReconciledEntry.reconcile(seatsByCourse, List.copyOf(seatsByCourse.keySet()), courseIds -> {
+            // One grouped query covers every course; courses without seat-holding enrollments are absent
+            Map<Long, Long> actual = new HashMap<>();
+            for (Object[] row : enrollmentRepository.countEnrollmentsByCourseAndStatuses(SEAT_HOLDING_STATUSES)) {
+                actual.put((Long) row[0], (Long) row[1]);
+            }
+            return actual;
+        });
+
+        if (corrected > 0) {
+            logger.warn("Reconciled seat counters for {} course(s)", corrected);
+        }
+    }
+
+    private Seats seatsFor(Long courseId) {
+        Seats seats = seatsByCourse.get(courseId);
+        if (seats == null) {
+            // Seed outside of computeIfAbsent so the map bin is not locked during the query
+            long held = enrollmentRepository.countEnrollmentsByCourseIdAndStatuses(courseId, SEAT_HOLDING_STATUSES);
+            Seats seeded = new Seats((int) held);
+            seats = seatsByCourse.putIfAbsent(courseId, seeded);
+            if (seats == null) {
+                seats = seeded;
+            }
+        }
+        return seats;
+    }
+
+    private void undoOnRollback(Seats seats) {
+        ReconciledEntry.afterCompletion(List.of(seats), null, seats.held::decrementAndGet);
+    }
+
+    // Reconcile compares against the held count it observed
+    private static final class Seats extends ReconciledEntry<Integer, Long> {
+        private final AtomicInteger held;
+
+        private Seats(int held) {
+            this.held = new AtomicInteger(held);
+        }
+
+        private void decrement() {
+            held.updateAndGet(count -> count > 0 ? count - 1 : 0);
+        }
+
+        @Override
+        Integer observe() {
+            return held.get();
+        }
+
+        @Override
+        boolean replaceIfUnchanged(Integer seen, Long actual) {
+            int expected = actual != null ? actual.intValue() : 0;
+            return seen != expected && held.compareAndSet(seen, expected);
+        }
+    }
+}
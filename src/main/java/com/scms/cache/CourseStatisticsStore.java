@@ -0,0 +1,304 @@
+package com.scms.cache;
+
+import com.scms.entity.Enrollment;
+import com.scms.event.CourseStatisticsEvent;
+import com.scms.repository.EnrollmentRepository;
+import com.scms.repository.GradeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Per-course enrollment counts by status and grade statistics, so seat, average and report reads
+// need no query. Grades are kept as a score histogram, which gives count, sum and sum of squares
+// in O(1) and still allows min and max to move when a grade is changed or deleted. Statistics
+// follow the CourseStatisticsEvents published with every enrollment and grade write and change
+// only once that write commits; courses are loaded from the database on first read, several at
+// a time for reports, and periodically reconciled against it.
+@Component
+public class CourseStatisticsStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseStatisticsStore.class);
+
+    private static final int BATCH_SIZE = 1000;
+    private static final Enrollment.EnrollmentStatus[] STATUSES = Enrollment.EnrollmentStatus.values();
+
+    private final ConcurrentHashMap<Long, Stats> statsByCourse = new ConcurrentHashMap<>();
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    public Snapshot get(Long courseId) {
+        return getAll(List.of(courseId)).get(courseId);
+    }
+
+    // Courses not cached yet are loaded together, two grouped queries per batch of ids
+    public Map<Long, Snapshot> getAll(Collection<Long> courseIds) {
+        Map<Long, Snapshot> snapshots = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long courseId : courseIds) {
+            Stats stats = statsByCourse.get(courseId);
+            if (stats != null) {
+                snapshots.put(courseId, stats.snapshot());
+            } else {
+                missing.add(courseId);
+            }
+        }
+        for (int from = 0; from < missing.size(); from += BATCH_SIZE) {
+            // Load outside of computeIfAbsent so map bins are not locked during the queries
+            Map<Long, Stats> loaded = loadFromDatabase(missing.subList(from, Math.min(from + BATCH_SIZE, missing.size())));
+            for (Map.Entry<Long, Stats> entry : loaded.entrySet()) {
+                Stats stats = statsByCourse.putIfAbsent(entry.getKey(), entry.getValue());
+                snapshots.put(entry.getKey(), (stats != null ? stats : entry.getValue()).snapshot());
+            }
+        }
+        return snapshots;
+    }
+
+    public void evict(Long courseId) {
+        statsByCourse.remove(courseId);
+    }
+
+    // Runs inside the publishing transaction; the change is applied once it commits
+    @EventListener
+    public void onCourseStatistics(CourseStatisticsEvent event) {
+        Set<Long> courseIds = new LinkedHashSet<>();
+        event.getEnrollmentChanges().forEach(change -> courseIds.add(change.getCourseId()));
+        event.getGradeChanges().forEach(change -> courseIds.add(change.getCourseId()));
+        List<Stats> touched = new ArrayList<>();
+        for (Long courseId : courseIds) {
+            Stats stats = statsByCourse.get(courseId);
+            if (stats != null) {
+                touched.add(stats);
+            }
+        }
+        ReconciledEntry.afterCompletion(touched, () -> apply(event), null);
+    }
+
+    // A course is only overwritten if nothing changed it while the database was read
+    @Scheduled(fixedDelayString = "${scms.course-statistics.reconcile-interval-ms:60000}",
+               initialDelayString = "${scms.course-statistics.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        List<Long> courseIds = new ArrayList<>(statsByCourse.keySet());
+        int corrected = 0;
+        for (int from = 0; from < courseIds.size(); from += BATCH_SIZE) {
+            corrected += ReconciledEntry.reconcile(statsByCourse,
+                courseIds.subList(from, Math.min(from + BATCH_SIZE, courseIds.size())), this::loadFromDatabase);
+        }
+        if (corrected > 0) {
+            logger.warn("Reconciled statistics for {} course(s)", corrected);
+        }
+    }
+
+    private void apply(CourseStatisticsEvent event) {
+        for (CourseStatisticsEvent.EnrollmentChange change : event.getEnrollmentChanges()) {
+            Stats stats = statsByCourse.get(change.getCourseId());
+            if (stats != null) {
+                stats.changeEnrollment(change.getFrom(), change.getTo());
+            }
+        }
+        for (CourseStatisticsEvent.GradeChange change : event.getGradeChanges()) {
+            Stats stats = statsByCourse.get(change.getCourseId());
+            if (stats != null) {
+                stats.changeGrade(change.getPreviousScore(), change.getScore());
+            }
+        }
+    }
+
+    private Map<Long, Stats> loadFromDatabase(Collection<Long> courseIds) {
+        Map<Long, Stats> loaded = new HashMap<>();
+        for (Long courseId : courseIds) {
+            loaded.put(courseId, new Stats());
+        }
+        for (Object[] row : enrollmentRepository.countEnrollmentsByCourseIdsGroupedByStatus(courseIds)) {
+            loaded.get((Long) row[0]).enrollments[((Enrollment.EnrollmentStatus) row[1]).ordinal()] = (Long) row[2];
+        }
+        for (Object[] row : gradeRepository.countScoresByCourseIds(courseIds)) {
+            loaded.get((Long) row[0]).addScore((BigDecimal) row[1], (Long) row[2]);
+        }
+        return loaded;
+    }
+
+    // Mutable and guarded by its lock; readers only ever see a Snapshot. Reconcile compares versions.
+    private static final class Stats extends ReconciledEntry<Long, Stats> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long[] enrollments = new long[STATUSES.length];
+        private final TreeMap<BigDecimal, Long> scores = new TreeMap<>();
+        private long gradeCount;
+        private BigDecimal scoreSum = BigDecimal.ZERO;
+        private BigDecimal squareSum = BigDecimal.ZERO;
+        private long version;
+
+        private void changeEnrollment(Enrollment.EnrollmentStatus from, Enrollment.EnrollmentStatus to) {
+            if (from == to) {
+                return;
+            }
+            lock.lock();
+            try {
+                if (from != null && enrollments[from.ordinal()] > 0) {
+                    enrollments[from.ordinal()]--;
+                }
+                if (to != null) {
+                    enrollments[to.ordinal()]++;
+                }
+                version++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void changeGrade(BigDecimal previousScore, BigDecimal score) {
+            lock.lock();
+            try {
+                if (previousScore != null) {
+                    removeScore(previousScore);
+                }
+                if (score != null) {
+                    addScore(score, 1);
+                }
+                version++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void addScore(BigDecimal score, long count) {
+            BigDecimal weight = BigDecimal.valueOf(count);
+            scores.merge(score, count, Long::sum);
+            gradeCount += count;
+            scoreSum = scoreSum.add(score.multiply(weight));
+            squareSum = squareSum.add(score.multiply(score).multiply(weight));
+        }
+
+        private void removeScore(BigDecimal score) {
+            Long count = scores.get(score);
+            if (count == null) {
+                // Already out of step with the database; reconciliation corrects it
+                return;
+            }
+            if (count == 1) {
+                scores.remove(score);
+            } else {
+                scores.put(score, count - 1);
+            }
+            gradeCount--;
+            scoreSum = scoreSum.subtract(score);
+            squareSum = squareSum.subtract(score.multiply(score));
+        }
+
+        @Override
+        Long observe() {
+            lock.lock();
+            try {
+                return version;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        boolean replaceIfUnchanged(Long seenVersion, Stats actual) {
+            lock.lock();
+            try {
+                if (version != seenVersion || !isSettled()
+                        || (Arrays.equals(enrollments, actual.enrollments) && scores.equals(actual.scores))) {
+                    return false;
+                }
+                System.arraycopy(actual.enrollments, 0, enrollments, 0, enrollments.length);
+                scores.clear();
+                scores.putAll(actual.scores);
+                gradeCount = actual.gradeCount;
+                scoreSum = actual.scoreSum;
+                squareSum = actual.squareSum;
+                version++;
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private Snapshot snapshot() {
+            lock.lock();
+            try {
+                return new Snapshot(enrollments.clone(), gradeCount, scoreSum, squareSum,
+                    scores.isEmpty() ? null : scores.firstKey(), scores.isEmpty() ? null : scores.lastKey());
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    public static final class Snapshot {
+        private final long[] enrollments;
+        private final long gradeCount;
+        private final BigDecimal scoreSum;
+        private final BigDecimal squareSum;
+        private final BigDecimal minScore;
+        private final BigDecimal maxScore;
+
+        private Snapshot(long[] enrollments, long gradeCount, BigDecimal scoreSum, BigDecimal squareSum,
+                         BigDecimal minScore, BigDecimal maxScore) {
+            this.enrollments = enrollments;
+            this.gradeCount = gradeCount;
+            this.scoreSum = scoreSum;
+            this.squareSum = squareSum;
+            this.minScore = minScore;
+            this.maxScore = maxScore;
+        }
+
+        public long getEnrollmentCount(Enrollment.EnrollmentStatus status) {
+            return enrollments[status.ordinal()];
+        }
+
+        public long getTotalEnrollments() {
+            return Arrays.stream(enrollments).sum();
+        }
+
+        public long getGradeCount() {
+            return gradeCount;
+        }
+
+        // Null when the course has no grades, like SQL AVG
+        public Double getAverageScore() {
+            return gradeCount == 0 ? null : scoreSum.doubleValue() / gradeCount;
+        }
+
+        public BigDecimal getMinScore() {
+            return minScore;
+        }
+
+        public BigDecimal getMaxScore() {
+            return maxScore;
+        }
+
+        // Population standard deviation: (n * sum(x^2) - sum(x)^2) / n^2, exact until the square root
+        public double getStandardDeviation() {
+            if (gradeCount == 0) {
+                return 0.0;
+            }
+            BigDecimal n = BigDecimal.valueOf(gradeCount);
+            BigDecimal variance = squareSum.multiply(n).subtract(scoreSum.multiply(scoreSum))
+                .divide(n.multiply(n), MathContext.DECIMAL64);
+            return variance.signum() > 0 ? Math.sqrt(variance.doubleValue()) : 0.0;
+        }
+    }
+}
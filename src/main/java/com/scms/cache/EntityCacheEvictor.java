@@ -0,0 +1,28 @@
+package com.scms.cache;
+
+import com.scms.entity.Course;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Explicit second-level cache invalidation for admin writes. Hibernate keeps the cache in step
+// with its own writes; this also covers rows changed underneath it (bulk updates, other nodes).
+@Component
+public class EntityCacheEvictor {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public void evictCourse(Long courseId) {
+        Cache cache = secondLevelCache();
+        cache.evictEntityData(Course.class, courseId);
+        // Cached course lists (available courses) may include or exclude this course
+        cache.evictDefaultQueryRegion();
+    }
+
+    private Cache secondLevelCache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
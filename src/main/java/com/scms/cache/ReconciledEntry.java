@@ -0,0 +1,81 @@
+package com.scms.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// A cached value kept in step with the database by the changes of committed transactions and
+// corrected by a periodic reconcile. Shared by CourseSeatRegistry, UnreadNotificationCounters and
+// CourseStatisticsStore. S is what reconcile observes before reading the database (a value or a
+// version), A is what it read there.
+abstract class ReconciledEntry<S, A> {
+
+    // Transactions that changed, or will change, this entry and have not completed yet
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    abstract S observe();
+
+    // Only if the entry still matches what was observed; returns whether it changed
+    abstract boolean replaceIfUnchanged(S seen, A actual);
+
+    boolean isSettled() {
+        return inFlight.get() == 0;
+    }
+
+    // Runs onCommit or onRollback (either may be null) once the surrounding transaction completes,
+    // or onCommit straight away without one. The touched entries are skipped by reconcile meanwhile.
+    static void afterCompletion(Collection<? extends ReconciledEntry<?, ?>> touched, Runnable onCommit, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (onCommit != null) {
+                onCommit.run();
+            }
+            return;
+        }
+        for (ReconciledEntry<?, ?> entry : touched) {
+            entry.inFlight.incrementAndGet();
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                Runnable action = status == STATUS_COMMITTED ? onCommit : onRollback;
+                if (action != null) {
+                    action.run();
+                }
+                for (ReconciledEntry<?, ?> entry : touched) {
+                    entry.inFlight.decrementAndGet();
+                }
+            }
+        });
+    }
+
+    // Reads the database once for the settled entries among keys and overwrites those that nothing
+    // changed while it was read; returns how many were corrected
+    static <K, S, A, E extends ReconciledEntry<S, A>> int reconcile(Map<K, E> entries, Collection<K> keys,
+                                                                    Function<Collection<K>, Map<K, A>> load) {
+        Map<K, S> observed = new HashMap<>();
+        for (K key : keys) {
+            E entry = entries.get(key);
+            if (entry != null && entry.isSettled()) {
+                observed.put(key, entry.observe());
+            }
+        }
+        if (observed.isEmpty()) {
+            return 0;
+        }
+
+        Map<K, A> actual = load.apply(observed.keySet());
+        int corrected = 0;
+        for (Map.Entry<K, S> seen : observed.entrySet()) {
+            E entry = entries.get(seen.getKey());
+            if (entry != null && entry.isSettled() && entry.replaceIfUnchanged(seen.getValue(), actual.get(seen.getKey()))) {
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+}
@@ -0,0 +1,179 @@
+package com.scms.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.scms.event.NotificationPushEvent;
+import com.scms.repository.AdminNotificationRepository;
+import com.scms.repository.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongUnaryOperator;
+
+// Unread notification counts per recipient so badge reads need no COUNT query. Counters follow the
+// NotificationPushEvents published with every notification write and change only once that write
+// commits; recipients not seen recently are evicted and reloaded from the database on next read,
+// and cached counts are periodically reconciled against it.
+@Component
+public class UnreadNotificationCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnreadNotificationCounters.class);
+
+    private static final long MAX_RECIPIENTS = 100_000;
+    private static final Duration EXPIRE_AFTER_ACCESS = Duration.ofHours(1);
+    private static final int RECONCILE_BATCH_SIZE = 1000;
+
+    private final Map<NotificationPushEvent.Audience, Cache<Long, Counter>> counters =
+        new EnumMap<>(NotificationPushEvent.Audience.class);
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private AdminNotificationRepository adminNotificationRepository;
+
+    public UnreadNotificationCounters() {
+        for (NotificationPushEvent.Audience audience : NotificationPushEvent.Audience.values()) {
+            counters.put(audience, Caffeine.newBuilder()
+                .maximumSize(MAX_RECIPIENTS)
+                .expireAfterAccess(EXPIRE_AFTER_ACCESS)
+                .build());
+        }
+    }
+
+    public long get(NotificationPushEvent.Audience audience, Long recipientId) {
+        Cache<Long, Counter> cache = counters.get(audience);
+        Counter counter = cache.getIfPresent(recipientId);
+        if (counter == null) {
+            // Load outside of the cache's compute so the map bin is not locked during the query
+            Counter loaded = new Counter(countFromDatabase(audience, recipientId));
+            counter = cache.asMap().putIfAbsent(recipientId, loaded);
+            if (counter == null) {
+                counter = loaded;
+            }
+        }
+        return counter.state.get().count;
+    }
+
+    // Runs inside the publishing transaction; the change is applied once it commits
+    @EventListener
+    public void onNotificationPush(NotificationPushEvent event) {
+        List<Counter> touched = new ArrayList<>();
+        Cache<Long, Counter> cache = counters.get(event.getAudience());
+        for (NotificationPushEvent.Delivery delivery : event.getDeliveries()) {
+            Counter counter = cache.getIfPresent(delivery.getRecipientId());
+            if (counter != null) {
+                touched.add(counter);
+            }
+        }
+        ReconciledEntry.afterCompletion(touched, () -> apply(event), null);
+    }
+
+    // For bulk changes without per-recipient events; every recipient is reloaded on next read
+    public void invalidateAll(NotificationPushEvent.Audience audience) {
+        ReconciledEntry.afterCompletion(List.of(), () -> counters.get(audience).invalidateAll(), null);
+    }
+
+    // A counter is only overwritten if nothing changed it while the database was read
+    @Scheduled(fixedDelayString = "${scms.notifications.unread.reconcile-interval-ms:60000}",
+               initialDelayString = "${scms.notifications.unread.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        for (NotificationPushEvent.Audience audience : NotificationPushEvent.Audience.values()) {
+            Map<Long, Counter> cached = counters.get(audience).asMap();
+            List<Long> recipientIds = new ArrayList<>(cached.keySet());
+            int corrected = 0;
+            for (int from = 0; from < recipientIds.size(); from += RECONCILE_BATCH_SIZE) {
+                corrected += ReconciledEntry.reconcile(cached,
+                    recipientIds.subList(from, Math.min(from + RECONCILE_BATCH_SIZE, recipientIds.size())),
+                    ids -> countFromDatabase(audience, ids));
+            }
+            if (corrected > 0) {
+                logger.warn("Reconciled unread counters for {} {} recipient(s)", corrected, audience);
+            }
+        }
+    }
+
+    private void apply(NotificationPushEvent event) {
+        Cache<Long, Counter> cache = counters.get(event.getAudience());
+        for (NotificationPushEvent.Delivery delivery : event.getDeliveries()) {
+            Counter counter = cache.getIfPresent(delivery.getRecipientId());
+            if (counter == null) {
+                // Not cached: the next read loads the committed count
+                continue;
+            }
+            switch (event.getName()) {
+                case NotificationPushEvent.NOTIFICATION -> counter.update(count -> count + 1);
+                case NotificationPushEvent.READ -> counter.update(count -> Math.max(0, count - 1));
+                case NotificationPushEvent.UNREAD -> {
+                    long unreadCount = ((Number) delivery.getData().get(NotificationPushEvent.UNREAD_COUNT)).longValue();
+                    counter.update(count -> unreadCount);
+                }
+                default -> { }
+            }
+        }
+    }
+
+    private long countFromDatabase(NotificationPushEvent.Audience audience, Long recipientId) {
+        return audience == NotificationPushEvent.Audience.STUDENT
+            ? notificationRepository.countUnreadByRecipientId(recipientId)
+            : adminNotificationRepository.countUnreadByAdminId(recipientId);
+    }
+
+    // Recipients without unread notifications are absent
+    private Map<Long, Long> countFromDatabase(NotificationPushEvent.Audience audience, Collection<Long> recipientIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        List<Object[]> rows = audience == NotificationPushEvent.Audience.STUDENT
+            ? notificationRepository.countUnreadByRecipientIds(recipientIds)
+            : adminNotificationRepository.countUnreadByAdminIds(recipientIds);
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    private static final class Counter extends ReconciledEntry<State, Long> {
+        private final AtomicReference<State> state;
+
+        private Counter(long count) {
+            this.state = new AtomicReference<>(new State(count, 0));
+        }
+
+        private void update(LongUnaryOperator change) {
+            state.updateAndGet(current -> new State(change.applyAsLong(current.count), current.version + 1));
+        }
+
+        @Override
+        State observe() {
+            return state.get();
+        }
+
+        @Override
+        boolean replaceIfUnchanged(State seen, Long actual) {
+            long expected = actual != null ? actual : 0L;
+            return seen.count != expected && state.compareAndSet(seen, new State(expected, seen.version + 1));
+        }
+    }
+
+    // Immutable so reconciliation can compare-and-set against exactly the value it observed
+    private static final class State {
+        private final long count;
+        private final long version;
+
+        private State(long count, long version) {
+            this.count = count;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.scms.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HexFormat;
+
+// Remembers which account a session last proved its password for, so logging in again from the
+// same session (re-login, page reloads of the login form) skips BCrypt. Session ids and passwords
+// are held only as SHA-256 digests salted with a per-process random salt, and an entry only
+// matches while the account's stored hash is unchanged, so a password change invalidates it.
+@Component
+public class VerifiedCredentialCache {
+
+    private final byte[] salt = new byte[16];
+    private final Cache<String, Entry> entries;
+
+    public VerifiedCredentialCache(
+            @Value("${scms.security.login.verified-cache.ttl-ms:1800000}") long ttlMillis,
+            @Value("${scms.security.login.verified-cache.max-sessions:100000}") long maxSessions) {
+        new SecureRandom().nextBytes(salt);
+        this.entries = Caffeine.newBuilder()
+            .maximumSize(maxSessions)
+            .expireAfterWrite(Duration.ofMillis(ttlMillis))
+            .build();
+    }
+
+    public boolean isVerified(String sessionToken, String userType, String email, String rawPassword, String storedHash) {
+        if (sessionToken == null || rawPassword == null) {
+            return false;
+        }
+        Entry entry = entries.getIfPresent(digest(sessionToken));
+        return entry != null
+            && entry.userType.equals(userType)
+            && entry.email.equals(email)
+            && entry.storedHash.equals(storedHash)
+            && MessageDigest.isEqual(entry.passwordDigest, digestBytes(rawPassword));
+    }
+
+    public void remember(String sessionToken, String userType, String email, String rawPassword, String storedHash) {
+        if (sessionToken != null) {
+            entries.put(digest(sessionToken), new Entry(userType, email, storedHash, digestBytes(rawPassword)));
+        }
+    }
+
+    public void forget(String sessionToken) {
+        if (sessionToken != null) {
+            entries.invalidate(digest(sessionToken));
+        }
+    }
+
+    private String digest(String value) {
+        return HexFormat.of().formatHex(digestBytes(value));
+    }
+
+    private byte[] digestBytes(String value) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update(salt);
+            return sha256.digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Entry {
+        private final String userType;
+        private final String email;
+        private final String storedHash;
+        private final byte[] passwordDigest;
+
+        private Entry(String userType, String email, String storedHash, byte[] passwordDigest) {
+            this.userType = userType;
+            this.email = email;
+            this.storedHash = storedHash;
+            this.passwordDigest = passwordDigest;
+        }
+    }
+}
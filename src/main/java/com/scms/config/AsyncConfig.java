@@ -0,0 +1,49 @@
+package com.scms.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    // Bounded so a burst of enrollments cannot queue notifications without limit;
+    // when full, the publishing thread does the insert itself instead of dropping it
+    @Bean(name = "notificationExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor notificationExecutor(
+            @Value("${scms.notifications.fanout.pool-size:2}") int poolSize,
+            @Value("${scms.notifications.fanout.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("admin-notify-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // With spring.threads.virtual.enabled each task gets its own virtual thread; the concurrency
+    // limit keeps fan-out from taking more than its share of the connection pool, and submitters
+    // wait for a free slot once it is reached
+    @Bean(name = "notificationExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualNotificationExecutor(
+            @Value("${scms.notifications.fanout.virtual-concurrency-limit:16}") int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("admin-notify-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        executor.setTaskTerminationTimeout(30_000);
+        return executor;
+    }
+}
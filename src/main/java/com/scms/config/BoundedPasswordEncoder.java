@@ -0,0 +1,91 @@
+package com.scms.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Runs password checks on a small fixed pool instead of the request thread, so a login storm
+// uses at most `threads` cores. Checks that cannot be queued, or that wait longer than the
+// timeout, fail with LoginThrottledException (429). Encoding is rare (registration, rehash,
+// migration) and goes straight to the delegate.
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    // executor.* metrics are tagged name=login-hashing
+    static final String EXECUTOR_NAME = "login-hashing";
+    static final String THROTTLED_METRIC = "scms.login.throttled";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolTaskExecutor executor;
+    private final ExecutorService timedExecutor;
+    private final long timeoutMillis;
+    private final Counter throttled;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long timeoutMillis,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timeoutMillis = timeoutMillis;
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("login-hash-");
+        executor.initialize();
+        // Queue depth, active threads and per-check wait/run timers
+        this.timedExecutor = ExecutorServiceMetrics.monitor(meterRegistry, executor.getThreadPoolExecutor(), EXECUTOR_NAME);
+        this.throttled = Counter.builder(THROTTLED_METRIC)
+            .description("Password checks rejected because the hashing pool was saturated")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Future<Boolean> result;
+        try {
+            result = timedExecutor.submit(() -> delegate.matches(rawPassword, encodedPassword));
+        } catch (RejectedExecutionException e) {
+            throttled.increment();
+            throw new LoginThrottledException("Too many login attempts in progress, please retry shortly");
+        }
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throttled.increment();
+            throw new LoginThrottledException("Login timed out waiting for a password check, please retry shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw new RuntimeException("Interrupted while checking password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Password check failed", e.getCause());
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -12,6 +12,7 @@ import com.scms.repository.CourseRepository;
 import com.scms.repository.EnrollmentRepository;
 import com.scms.repository.GradeRepository;
 import com.scms.repository.NotificationRepository;
+import com.scms.service.GpaAggregateService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.boot.CommandLineRunner;
@@ -45,19 +46,17 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
-    private boolean isEncodedPassword(String password) {
-        if (password == null) return false;
-        return password.startsWith("$2a$") || password.startsWith("$2b$") || password.startsWith("$2y$");
-    }
+    @Autowired
+    private GpaAggregateService gpaAggregateService;
 
     private String encodePasswordIfNeeded(String password) {
         if (password == null) return null;
-        return isEncodedPassword(password) ? password : passwordEncoder.encode(password);
+        return LegacyPasswords.isEncoded(password) ? password : passwordEncoder.encode(password);
     }
     
     @Override
     public void run(String... args) throws Exception {
-        migrateExistingPasswordsIfNeeded();
+        // Plaintext passwords left in existing databases are hashed by PasswordMigrationJob once started
         initializeAdministrators();
         // Only initialize essential admin data for production
         // initializeStudents();
@@ -65,28 +64,16 @@ public class DataInitializer implements CommandLineRunner {
         // initializeEnrollments();
         // initializeGrades();
         // initializeNotifications();
+        initializeGpaAggregatesIfNeeded();
     }
 
-    private void migrateExistingPasswordsIfNeeded() {
-        administratorRepository.findAll().forEach(admin -> {
-            String original = admin.getPassword();
-            String updated = encodePasswordIfNeeded(original);
-            if (updated != null && !updated.equals(original)) {
-                admin.setPassword(updated);
-                administratorRepository.save(admin);
-            }
-        });
-
-        studentRepository.findAll().forEach(student -> {
-            String original = student.getPassword();
-            String updated = encodePasswordIfNeeded(original);
-            if (updated != null && !updated.equals(original)) {
-                student.setPassword(updated);
-                studentRepository.save(student);
-            }
-        });
+    // Existing databases have grades but no aggregates until the first rebuild
+    private void initializeGpaAggregatesIfNeeded() {
+        if (gpaAggregateService.isEmpty() && gradeRepository.count() > 0) {
+            gpaAggregateService.rebuildAll();
+        }
     }
-    
+
     private void initializeAdministrators() {
         if (administratorRepository.count() == 0) {
             Administrator admin1 = new Administrator("أحمد محمود", "ahmed.mahmoud@eng.asu.edu.eg", encodePasswordIfNeeded("admin123"));
@@ -0,0 +1,33 @@
+package com.scms.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+// Accounts created before passwords were BCrypt-encoded keep their plaintext password until
+// PasswordMigrationJob reaches them; login accepts those and leaves the encoding to the job.
+public final class LegacyPasswords {
+
+    private LegacyPasswords() {}
+
+    public static boolean isEncoded(String storedPassword) {
+        return storedPassword != null
+            && (storedPassword.startsWith("$2a$") || storedPassword.startsWith("$2b$") || storedPassword.startsWith("$2y$"));
+    }
+
+    // Compares digests, so the time taken depends on neither the content nor the length of either value
+    public static boolean matchesPlaintext(String rawPassword, String storedPassword) {
+        if (rawPassword == null || storedPassword == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(digest(rawPassword), digest(storedPassword));
+    }
+
+    private static byte[] digest(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
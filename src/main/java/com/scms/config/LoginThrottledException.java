@@ -0,0 +1,13 @@
+package com.scms.config;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Password checks are backed up; the client should retry shortly
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class LoginThrottledException extends RuntimeException {
+
+    public LoginThrottledException(String message) {
+        super(message);
+    }
+}
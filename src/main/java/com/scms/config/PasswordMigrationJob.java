@@ -0,0 +1,136 @@
+package com.scms.config;
+
+import com.scms.entity.MigrationMarker;
+import com.scms.repository.MigrationMarkerRepository;
+import com.scms.repository.PasswordMigrationBatchRepository;
+import com.scms.repository.PasswordMigrationBatchRepository.AccountTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Hashes any plaintext account passwords left from before passwords were BCrypt-encoded.
+// Runs once, off the startup thread, after the application is ready: each table is walked in
+// id order a page at a time, hashed in parallel and written back in a JDBC batch. Progress is
+// kept in migration_markers, so a restart resumes where it stopped and a finished migration
+// costs one lookup per start.
+@Component
+public class PasswordMigrationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordMigrationJob.class);
+
+    // Bump the suffix to run the migration again over every account
+    static final String MARKER_PREFIX = "password-bcrypt-v1:";
+
+    @Autowired
+    private PasswordMigrationBatchRepository passwordMigrationBatchRepository;
+
+    @Autowired
+    private MigrationMarkerRepository migrationMarkerRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${scms.security.password-migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${scms.security.password-migration.page-size:1000}")
+    private int pageSize;
+
+    @Value("${scms.security.password-migration.threads:2}")
+    private int threads;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startAfterStartup() {
+        if (!enabled || isComplete()) {
+            return;
+        }
+        Thread runner = new Thread(this::migrateAll, "password-migration");
+        runner.setDaemon(true);
+        runner.start();
+    }
+
+    boolean isComplete() {
+        for (AccountTable table : AccountTable.values()) {
+            if (!migrationMarkerRepository.findById(MARKER_PREFIX + table.getTableName())
+                    .map(MigrationMarker::isCompleted).orElse(false)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void migrateAll() {
+        ExecutorService hashers = Executors.newFixedThreadPool(threads);
+        try {
+            for (AccountTable table : AccountTable.values()) {
+                migrate(table, hashers);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.info("Password migration interrupted; it resumes on next start");
+        } catch (RuntimeException e) {
+            logger.warn("Password migration stopped; it resumes on next start", e);
+        } finally {
+            hashers.shutdownNow();
+        }
+    }
+
+    private void migrate(AccountTable table, ExecutorService hashers) throws InterruptedException {
+        String markerName = MARKER_PREFIX + table.getTableName();
+        MigrationMarker marker = migrationMarkerRepository.findById(markerName).orElseGet(() -> new MigrationMarker(markerName));
+        if (marker.isCompleted()) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        long scanned = 0;
+        long updated = 0;
+        List<PasswordMigrationBatchRepository.Row> page;
+        while (!(page = passwordMigrationBatchRepository.findPage(table, marker.getLastId(), pageSize)).isEmpty()) {
+            List<PasswordMigrationBatchRepository.Row> plaintext = new ArrayList<>();
+            for (PasswordMigrationBatchRepository.Row row : page) {
+                if (row.getPassword() != null && !LegacyPasswords.isEncoded(row.getPassword())) {
+                    plaintext.add(row);
+                }
+            }
+            hash(plaintext, hashers);
+            updated += passwordMigrationBatchRepository.updatePasswords(table, plaintext);
+            scanned += page.size();
+
+            marker.setLastId(page.get(page.size() - 1).getId());
+            marker = migrationMarkerRepository.save(marker);
+        }
+
+        marker.setCompletedAt(LocalDateTime.now());
+        migrationMarkerRepository.save(marker);
+        logger.info("Password migration of {} finished: {} scanned, {} hashed in {} ms",
+            table.getTableName(), scanned, updated, System.currentTimeMillis() - started);
+    }
+
+    private void hash(List<PasswordMigrationBatchRepository.Row> rows, ExecutorService hashers) throws InterruptedException {
+        List<Future<?>> hashed = new ArrayList<>(rows.size());
+        for (PasswordMigrationBatchRepository.Row row : rows) {
+            hashed.add(hashers.submit(() -> row.setNewPassword(passwordEncoder.encode(row.getPassword()))));
+        }
+        try {
+            for (Future<?> future : hashed) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to hash password", e.getCause());
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.scms.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -26,8 +28,17 @@ public class SecurityConfig {
         return http.build();
     }
     
-        @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    // Raising the strength rehashes each account's password at its next successful login
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            @Value("${scms.security.bcrypt.strength:10}") int strength,
+            @Value("${scms.security.login.hash-threads:0}") int hashThreads,
+            @Value("${scms.security.login.queue-capacity:200}") int queueCapacity,
+            @Value("${scms.security.login.timeout-ms:3000}") long timeoutMillis,
+            MeterRegistry meterRegistry) {
+        // By default hashing may take half the cores; the rest keep serving other requests
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), threads, queueCapacity, timeoutMillis,
+            meterRegistry);
     }
 }
@@ -0,0 +1,265 @@
+package com.scms.config;
+
+import com.scms.cache.CourseSeatRegistry;
+import com.scms.entity.Enrollment;
+import com.scms.entity.Notification;
+import com.scms.repository.StudentRepository;
+import com.scms.service.GpaAggregateService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Fills an empty database with production-sized synthetic data for load tests (profile "seed").
+// Students and courses are inserted in order on one thread; enrollments, grades and notifications
+// are then generated per slice of students in parallel, each slice from its own Random derived
+// from scms.seed.random-seed, so the same settings always produce the same rows.
+@Component
+@Profile("seed")
+@Order(1)
+public class SyntheticDataSeeder implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataSeeder.class);
+
+    private static final String STUDENT_SQL = "INSERT INTO students (name, email, password) VALUES (?, ?, ?)";
+    private static final String ADMIN_SQL = "INSERT INTO administrators (name, email, password) VALUES (?, ?, ?)";
+    private static final String COURSE_SQL =
+        "INSERT INTO courses (title, description, capacity, prerequisites) VALUES (?, ?, ?, ?)";
+    private static final String ENROLLMENT_SQL =
+        "INSERT INTO enrollments (student_id, course_id, enrollment_date, status) VALUES (?, ?, ?, ?)";
+    private static final String GRADE_SQL =
+        "INSERT INTO grades (student_id, course_id, score, recorded_date) VALUES (?, ?, ?, ?)";
+    private static final String NOTIFICATION_SQL =
+        "INSERT INTO notifications (message, recipient_id, sent_date, type, is_read) VALUES (?, ?, ?, ?, ?)";
+
+    private static final int STUDENTS_PER_SLICE = 1000;
+    private static final int TERM_DAYS = 120;
+    private static final int MAX_PICK_ATTEMPTS = 100;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private GpaAggregateService gpaAggregateService;
+
+    @Value("${scms.seed.students:200000}")
+    private int studentCount;
+
+    @Value("${scms.seed.courses:5000}")
+    private int courseCount;
+
+    @Value("${scms.seed.admins:50}")
+    private int adminCount;
+
+    @Value("${scms.seed.enrollments-per-student:15}")
+    private int enrollmentsPerStudent;
+
+    @Value("${scms.seed.grades-per-student:10}")
+    private int gradesPerStudent;
+
+    @Value("${scms.seed.notifications-per-student:50}")
+    private int notificationsPerStudent;
+
+    @Value("${scms.seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${scms.seed.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${scms.seed.threads:4}")
+    private int threads;
+
+    @Value("${scms.seed.password:password123}")
+    private String password;
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (studentRepository.count() > 0) {
+            logger.info("Skipping synthetic data: the students table is not empty");
+            return;
+        }
+        if (enrollmentsPerStudent > courseCount || gradesPerStudent > enrollmentsPerStudent) {
+            throw new IllegalStateException("scms.seed needs grades-per-student <= enrollments-per-student <= courses");
+        }
+
+        long started = System.currentTimeMillis();
+        // Hashing once keeps BCrypt out of the loop; every seeded account shares this password
+        String passwordHash = passwordEncoder.encode(password);
+        LocalDateTime termStart = LocalDateTime.now().minusDays(TERM_DAYS).withNano(0);
+
+        insertUsers(ADMIN_SQL, adminCount, "Seed Admin ", "@admin.seed.scms", passwordHash);
+        insertCourses();
+        insertUsers(STUDENT_SQL, studentCount, "Seed Student ", "@student.seed.scms", passwordHash);
+        long[] studentIds = jdbcTemplate.queryForList(
+            "SELECT id FROM students ORDER BY id", Long.class).stream().mapToLong(Long::longValue).toArray();
+        long[] courseIds = jdbcTemplate.queryForList(
+            "SELECT id FROM courses ORDER BY id", Long.class).stream().mapToLong(Long::longValue).toArray();
+        int[] capacities = jdbcTemplate.queryForList(
+            "SELECT capacity FROM courses ORDER BY id", Integer.class).stream().mapToInt(Integer::intValue).toArray();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> slices = new ArrayList<>();
+            for (int from = 0; from < studentIds.length; from += STUDENTS_PER_SLICE) {
+                int sliceFrom = from;
+                int sliceTo = Math.min(from + STUDENTS_PER_SLICE, studentIds.length);
+                slices.add(executor.submit(() -> seedSlice(studentIds, sliceFrom, sliceTo, courseIds, capacities, termStart)));
+            }
+            for (Future<?> slice : slices) {
+                slice.get();
+            }
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Synthetic data seeding failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int aggregates = gpaAggregateService.rebuildAll();
+        logger.info("Seeded {} students, {} courses, {} administrators, {} enrollments, {} grades and {} notifications " +
+                "({} GPA aggregates) in {} ms",
+            studentIds.length, courseIds.length, adminCount, (long) studentIds.length * enrollmentsPerStudent,
+            (long) studentIds.length * gradesPerStudent, (long) studentIds.length * notificationsPerStudent,
+            aggregates, System.currentTimeMillis() - started);
+    }
+
+    private void insertUsers(String sql, int count, String namePrefix, String emailSuffix, String passwordHash) {
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[] {namePrefix + i, "user" + i + emailSuffix, passwordHash});
+            if (rows.size() == batchSize) {
+                flush(sql, rows);
+            }
+        }
+        flush(sql, rows);
+    }
+
+    // Capacity is about twice the average enrollment, so random course picks rarely find one full
+    private void insertCourses() {
+        Random random = new Random(randomSeed);
+        int averageEnrollment = (int) Math.max(1, (long) studentCount * enrollmentsPerStudent / courseCount);
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (int i = 0; i < courseCount; i++) {
+            int capacity = averageEnrollment + random.nextInt(averageEnrollment * 2);
+            rows.add(new Object[] {"Seed Course " + i, "Synthetic course " + i, capacity, i % 5 == 0 ? "None" : "Seed Course " + (i / 5)});
+            if (rows.size() == batchSize) {
+                flush(COURSE_SQL, rows);
+            }
+        }
+        flush(COURSE_SQL, rows);
+    }
+
+    private void seedSlice(long[] studentIds, int from, int to, long[] courseIds, int[] capacities, LocalDateTime termStart) {
+        Random random = new Random(randomSeed * 31 + from);
+        Notification.NotificationType[] types = Notification.NotificationType.values();
+        List<Object[]> enrollments = new ArrayList<>(batchSize);
+        List<Object[]> grades = new ArrayList<>(batchSize);
+        List<Object[]> notifications = new ArrayList<>(batchSize);
+        int[] picked = new int[enrollmentsPerStudent];
+
+        // This slice's share of every course's seats, in proportion to its students, so slices running
+        // in parallel never fill a course past capacity between them and every run gives the same rows
+        int[] seatsLeft = new int[courseIds.length];
+        for (int c = 0; c < seatsLeft.length; c++) {
+            seatsLeft[c] = (int) ((long) capacities[c] * to / studentIds.length - (long) capacities[c] * from / studentIds.length);
+        }
+
+        for (int s = from; s < to; s++) {
+            long studentId = studentIds[s];
+            for (int k = 0; k < picked.length; k++) {
+                Timestamp enrolledAt = Timestamp.valueOf(termStart.plusMinutes(random.nextInt(TERM_DAYS * 24 * 60 / 4)));
+                // The first gradesPerStudent courses are finished and graded; the rest are mostly in progress
+                Enrollment.EnrollmentStatus status;
+                BigDecimal score = null;
+                if (k < gradesPerStudent) {
+                    status = Enrollment.EnrollmentStatus.COMPLETED;
+                    score = BigDecimal.valueOf(400 + random.nextInt(601), 1);
+                } else {
+                    int roll = random.nextInt(20);
+                    status = roll < 2 ? Enrollment.EnrollmentStatus.PENDING
+                        : roll == 2 ? Enrollment.EnrollmentStatus.WITHDRAWN : Enrollment.EnrollmentStatus.ACTIVE;
+                }
+                boolean holdsSeat = CourseSeatRegistry.holdsSeat(status);
+                int course = pickCourse(random, courseIds.length, picked, k, holdsSeat ? seatsLeft : null);
+                if (course < 0) {
+                    // No course tried had a seat left in this slice's share; record the request as withdrawn
+                    status = Enrollment.EnrollmentStatus.WITHDRAWN;
+                    course = pickCourse(random, courseIds.length, picked, k, null);
+                } else if (holdsSeat) {
+                    seatsLeft[course]--;
+                }
+                picked[k] = course;
+                long courseId = courseIds[course];
+
+                if (score != null) {
+                    grades.add(new Object[] {studentId, courseId, score, enrolledAt});
+                }
+                enrollments.add(new Object[] {studentId, courseId, enrolledAt, status.name()});
+                if (enrollments.size() == batchSize) {
+                    flush(ENROLLMENT_SQL, enrollments);
+                }
+                if (grades.size() == batchSize) {
+                    flush(GRADE_SQL, grades);
+                }
+            }
+            for (int n = 0; n < notificationsPerStudent; n++) {
+                Notification.NotificationType type = types[random.nextInt(types.length)];
+                Timestamp sentAt = Timestamp.valueOf(termStart.plusMinutes(random.nextInt(TERM_DAYS * 24 * 60)));
+                notifications.add(new Object[] {"Synthetic " + type.name().toLowerCase() + " notice " + n,
+                    studentId, sentAt, type.name(), random.nextInt(10) < 7});
+                if (notifications.size() == batchSize) {
+                    flush(NOTIFICATION_SQL, notifications);
+                }
+            }
+        }
+        flush(ENROLLMENT_SQL, enrollments);
+        flush(GRADE_SQL, grades);
+        flush(NOTIFICATION_SQL, notifications);
+    }
+
+    // A course index below bound that is not among the first count picked, with a seat left unless
+    // seatsLeft is null. Rejection is cheap while count is much smaller than bound; when a seat is
+    // needed, -1 after MAX_PICK_ATTEMPTS candidates without one.
+    private static int pickCourse(Random random, int bound, int[] picked, int count, int[] seatsLeft) {
+        for (int attempt = 0; seatsLeft == null || attempt < MAX_PICK_ATTEMPTS; attempt++) {
+            int candidate = random.nextInt(bound);
+            boolean available = seatsLeft == null || seatsLeft[candidate] > 0;
+            for (int j = 0; j < count && available; j++) {
+                available = picked[j] != candidate;
+            }
+            if (available) {
+                return candidate;
+            }
+        }
+        return -1;
+    }
+
+    private void flush(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+}
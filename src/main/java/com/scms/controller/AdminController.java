@@ -1,5 +1,10 @@
 package com.scms.controller;
 
+import com.scms.cache.EntityCacheEvictor;
+import com.scms.dto.AdminNotificationSummary;
+import com.scms.event.NotificationPushEvent;
+import com.scms.event.NotificationPushRegistry;
+import com.scms.event.NotificationStreamLimitException;
 import com.scms.entity.Student;
 import com.scms.entity.Course;
 import com.scms.entity.Enrollment;
@@ -12,13 +17,26 @@ import com.scms.service.GradeService;
 import com.scms.service.NotificationService;
 import com.scms.service.AdminNotificationService;
 import com.scms.service.AdministratorService;
+import com.scms.service.DashboardStatisticsService;
+import com.scms.service.GpaAggregateService;
+import com.scms.service.EnrollmentApprovalResult;
+import com.scms.service.GradeImportReader;
+import com.scms.service.GradeImportResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -50,6 +68,21 @@ public class AdminController {
     @Autowired
     private AdministratorService administratorService;
     
+    @Autowired
+    private DashboardStatisticsService dashboardStatisticsService;
+    
+    @Autowired
+    private GpaAggregateService gpaAggregateService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private EntityCacheEvictor entityCacheEvictor;
+    
+    @Autowired
+    private NotificationPushRegistry notificationPushRegistry;
+    
     // Student Management
     @PostMapping("/students")
     @Operation(summary = "Add a new student")
@@ -176,6 +209,7 @@ public class AdminController {
             course.setPrerequisites(prerequisites);
             
             Course updatedCourse = courseService.updateCourse(course);
+            entityCacheEvictor.evictCourse(id);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -195,6 +229,7 @@ public class AdminController {
     public ResponseEntity<Map<String, Object>> deleteCourse(@PathVariable Long id) {
         try {
             courseService.deleteCourse(id);
+            entityCacheEvictor.evictCourse(id);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -233,6 +268,28 @@ public class AdminController {
         }
     }
     
+    @PostMapping(value = "/grades/import", consumes = {"text/csv", KeysetPagination.NDJSON})
+    @Operation(summary = "Bulk import grades from CSV (studentId,courseId,score[,comments]) or NDJSON")
+    public ResponseEntity<Map<String, Object>> importGrades(HttpServletRequest request) {
+        try {
+            GradeImportReader.Format format = request.getContentType().startsWith(KeysetPagination.NDJSON)
+                ? GradeImportReader.Format.NDJSON : GradeImportReader.Format.CSV;
+            GradeImportResult result = gradeService.importGrades(request.getReader(), format);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Imported " + (result.getInserted() + result.getUpdated()) + " grades, "
+                + result.getFailed() + " rows failed");
+            response.put("result", result);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
     @PutMapping("/grades/{id}")
     @Operation(summary = "Update a grade")
     public ResponseEntity<Map<String, Object>> updateGrade(@PathVariable Long id, @RequestBody Map<String, Object> request) {
@@ -323,6 +380,45 @@ public class AdminController {
         }
     }
     
+    // Body is {"ids": [...]}, {"courseId": n} for that course's pending queue, or {"allPending": true}
+    @PostMapping("/enrollments/approve-batch")
+    @Operation(summary = "Approve many enrollments by id or every pending enrollment matching a filter")
+    public ResponseEntity<Map<String, Object>> approveEnrollments(@RequestBody Map<String, Object> request) {
+        try {
+            List<Administrator> admins = administratorService.getAllAdministrators();
+            if (admins.isEmpty()) {
+                throw new RuntimeException("No administrators found");
+            }
+            Administrator admin = admins.get(0);
+            
+            EnrollmentApprovalResult result;
+            if (request.get("ids") instanceof List<?> ids) {
+                List<Long> enrollmentIds = new ArrayList<>(ids.size());
+                for (Object id : ids) {
+                    enrollmentIds.add(Long.valueOf(id.toString()));
+                }
+                result = enrollmentService.approveEnrollments(enrollmentIds, admin);
+            } else if (request.get("courseId") != null) {
+                result = enrollmentService.approvePendingEnrollments(Long.valueOf(request.get("courseId").toString()), admin);
+            } else if (Boolean.TRUE.equals(request.get("allPending"))) {
+                result = enrollmentService.approvePendingEnrollments(null, admin);
+            } else {
+                throw new RuntimeException("Provide ids, courseId or allPending");
+            }
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", result.getApproved() + " enrollments approved, " + result.getSkipped() + " skipped");
+            response.put("result", result);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
     @PostMapping("/enrollments/{id}/reject")
     @Operation(summary = "Reject an enrollment")
     public ResponseEntity<Map<String, Object>> rejectEnrollment(@PathVariable Long id) {
@@ -349,9 +445,11 @@ public class AdminController {
     
     @GetMapping("/enrollments/pending")
     @Operation(summary = "Get pending enrollments")
-    public ResponseEntity<List<Enrollment>> getPendingEnrollments() {
-        List<Enrollment> pendingEnrollments = enrollmentService.getPendingEnrollments();
-        return ResponseEntity.ok(pendingEnrollments);
+    public ResponseEntity<List<Enrollment>> getPendingEnrollments(@RequestParam(required = false) String cursor,
+                                                                  @RequestParam(defaultValue = KeysetPagination.DEFAULT_LIMIT) int limit) {
+        int pageSize = KeysetPagination.limit(limit);
+        List<Enrollment> pendingEnrollments = enrollmentService.getPendingEnrollmentsAfter(KeysetPagination.afterId(cursor), pageSize);
+        return KeysetPagination.page(pendingEnrollments, pageSize, enrollment -> KeysetPagination.idCursor(enrollment.getId()));
     }
     
     // Dashboard Statistics
@@ -359,16 +457,7 @@ public class AdminController {
     @Operation(summary = "Get dashboard statistics")
     public ResponseEntity<Map<String, Object>> getDashboardStats() {
         try {
-            List<Student> students = studentService.getAllStudents();
-            List<Course> courses = courseService.getAllCourses();
-            List<Enrollment> enrollments = enrollmentService.getAllEnrollments();
-            List<Grade> grades = gradeService.getAllGrades();
-            
-            Map<String, Object> stats = new HashMap<>();
-            stats.put("totalStudents", students.size());
-            stats.put("totalCourses", courses.size());
-            stats.put("totalEnrollments", enrollments.size());
-            stats.put("totalGrades", grades.size());
+            Map<String, Object> stats = dashboardStatisticsService.getDashboardStats();
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -382,12 +471,66 @@ public class AdminController {
         }
     }
     
+    @PostMapping("/gpa/rebuild")
+    @Operation(summary = "Recompute all student GPA aggregates from grades")
+    public ResponseEntity<Map<String, Object>> rebuildGpaAggregates() {
+        try {
+            int students = gpaAggregateService.rebuildAll();
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "GPA aggregates rebuilt");
+            response.put("students", students);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
     // Admin Notification Management
     @GetMapping("/notifications")
     @Operation(summary = "Get all admin notifications")
-    public ResponseEntity<List<com.scms.entity.AdminNotification>> getAllAdminNotifications() {
-        List<com.scms.entity.AdminNotification> notifications = adminNotificationService.getAllAdminNotifications();
-        return ResponseEntity.ok(notifications);
+    public ResponseEntity<List<AdminNotificationSummary>> getAllAdminNotifications(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = KeysetPagination.DEFAULT_LIMIT) int limit) {
+        int pageSize = KeysetPagination.limit(limit);
+        List<AdminNotificationSummary> notifications = fetchAdminNotificationsBefore(cursor, pageSize);
+        return KeysetPagination.page(notifications, pageSize,
+            notification -> KeysetPagination.sentDateCursor(notification.sentDate(), notification.id()));
+    }
+    
+    @GetMapping(value = "/notifications/export", produces = KeysetPagination.NDJSON)
+    @Operation(summary = "Stream all admin notifications as NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportAdminNotifications() {
+        return ResponseEntity.ok(KeysetPagination.ndjson(objectMapper,
+            cursor -> fetchAdminNotificationsBefore(cursor, KeysetPagination.MAX_LIMIT),
+            notification -> KeysetPagination.sentDateCursor(notification.sentDate(), notification.id())));
+    }
+    
+    private List<AdminNotificationSummary> fetchAdminNotificationsBefore(String cursor, int limit) {
+        KeysetPagination.SentDateKey before = KeysetPagination.beforeSentDate(cursor);
+        return before == null
+            ? adminNotificationService.getAllAdminNotificationsBefore(null, null, limit)
+            : adminNotificationService.getAllAdminNotificationsBefore(before.sentDate, before.id, limit);
+    }
+    
+    // Without adminId the stream follows the first administrator, like the other admin endpoints
+    @GetMapping(value = "/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to admin notifications (server-sent events)")
+    public SseEmitter streamAdminNotifications(@RequestParam(required = false) Long adminId) {
+        Administrator admin = (adminId != null
+                ? administratorService.getAdministratorById(adminId)
+                : administratorService.getAllAdministrators().stream().findFirst())
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Administrator not found"));
+        try {
+            return notificationPushRegistry.subscribe(NotificationPushEvent.Audience.ADMIN, admin.getId(),
+                adminNotificationService.getUnreadCount(admin));
+        } catch (NotificationStreamLimitException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
     }
     
     @PostMapping("/notifications/{id}/read")
@@ -414,15 +557,12 @@ public class AdminController {
         try {
             // For now, we'll mark all notifications as read for all admins
             // In a real application, you'd get the current admin from the session
-            List<com.scms.entity.Administrator> admins = administratorService.getAllAdministrators();
-            
-            for (com.scms.entity.Administrator admin : admins) {
-                adminNotificationService.markAllAsRead(admin);
-            }
+            int updated = adminNotificationService.markAllAsRead();
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "All notifications marked as read");
+            response.put("updated", updated);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
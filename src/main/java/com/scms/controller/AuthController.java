@@ -1,5 +1,7 @@
 package com.scms.controller;
 
+import com.scms.cache.VerifiedCredentialCache;
+import com.scms.config.LoginThrottledException;
 import com.scms.entity.Student;
 import com.scms.entity.Administrator;
 import com.scms.service.StudentService;
@@ -7,6 +9,8 @@ import com.scms.service.AdministratorService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Controller;
@@ -31,6 +35,9 @@ public class AuthController {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private VerifiedCredentialCache verifiedCredentials;
+    
     @GetMapping("/login")
     public String loginPage() {
         return "auth/login";
@@ -58,7 +65,7 @@ public class AuthController {
             Map<String, Object> response = new HashMap<>();
             
             if ("student".equals(userType)) {
-                return studentService.authenticateStudent(email, password)
+                return studentService.authenticateStudent(email, password, session.getId())
                         .map(student -> {
                             session.setAttribute("userType", "student");
                             session.setAttribute("userId", student.getId());
@@ -75,7 +82,7 @@ public class AuthController {
                             return ResponseEntity.badRequest().body(response);
                         });
             } else if ("admin".equals(userType)) {
-                return administratorService.authenticateAdministrator(email, password)
+                return administratorService.authenticateAdministrator(email, password, session.getId())
                         .map(admin -> {
                             session.setAttribute("userType", "admin");
                             session.setAttribute("userId", admin.getId());
@@ -97,6 +104,11 @@ public class AuthController {
             response.put("message", "Invalid email or password");
             return ResponseEntity.badRequest().body(response);
             
+        } catch (LoginThrottledException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").body(response);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
@@ -184,6 +196,7 @@ public class AuthController {
     @ResponseBody
     @Operation(summary = "User logout")
     public ResponseEntity<Map<String, Object>> logout(HttpSession session) {
+        verifiedCredentials.forget(session.getId());
         session.invalidate();
         
         Map<String, Object> response = new HashMap<>();
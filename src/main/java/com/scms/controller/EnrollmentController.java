@@ -1,5 +1,7 @@
 package com.scms.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scms.dto.EnrollmentSummary;
 import com.scms.entity.Enrollment;
 import com.scms.service.EnrollmentService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -7,6 +9,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
 import java.util.List;
@@ -20,6 +23,9 @@ public class EnrollmentController {
     @Autowired
     private EnrollmentService enrollmentService;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     @PostMapping("/enroll")
     @Operation(summary = "Enroll a student in a course")
     public ResponseEntity<Map<String, Object>> enrollStudent(@RequestBody Map<String, Long> request) {
@@ -31,7 +37,7 @@ public class EnrollmentController {
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "We've sent a notification to the admin to review and approve your enrollment");
-            response.put("enrollment", enrollment);
+            response.put("enrollment", EnrollmentSummary.from(enrollment));
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
@@ -63,10 +69,10 @@ public class EnrollmentController {
     
     @GetMapping("/{enrollmentId}")
     @Operation(summary = "Get enrollment by ID")
-    public ResponseEntity<Enrollment> getEnrollmentById(@PathVariable Long enrollmentId) {
+    public ResponseEntity<EnrollmentSummary> getEnrollmentById(@PathVariable Long enrollmentId) {
         try {
             Enrollment enrollment = enrollmentService.getEnrollmentById(enrollmentId);
-            return ResponseEntity.ok(enrollment);
+            return ResponseEntity.ok(EnrollmentSummary.from(enrollment));
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
@@ -79,7 +85,7 @@ public class EnrollmentController {
             Enrollment enrollment = enrollmentService.getEnrollmentById(enrollmentId);
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("enrollment", enrollment);
+            response.put("enrollment", EnrollmentSummary.from(enrollment));
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
@@ -91,37 +97,59 @@ public class EnrollmentController {
     
     @GetMapping("/student/{studentId}")
     @Operation(summary = "Get all enrollments for a student")
-    public ResponseEntity<List<Enrollment>> getStudentEnrollments(@PathVariable Long studentId) {
-        List<Enrollment> enrollments = enrollmentService.getStudentEnrollments(studentId);
-        return ResponseEntity.ok(enrollments);
+    public ResponseEntity<List<EnrollmentSummary>> getStudentEnrollments(@PathVariable Long studentId,
+                                                                         @RequestParam(required = false) String cursor,
+                                                                         @RequestParam(defaultValue = KeysetPagination.DEFAULT_LIMIT) int limit) {
+        int pageSize = KeysetPagination.limit(limit);
+        List<EnrollmentSummary> enrollments = enrollmentService.getStudentEnrollmentsAfter(studentId, KeysetPagination.afterId(cursor), pageSize);
+        return KeysetPagination.page(enrollments, pageSize, enrollment -> KeysetPagination.idCursor(enrollment.id()));
     }
     
     @GetMapping("/student/{studentId}/active")
     @Operation(summary = "Get active enrollments for a student")
-    public ResponseEntity<List<Enrollment>> getActiveStudentEnrollments(@PathVariable Long studentId) {
-        List<Enrollment> enrollments = enrollmentService.getActiveStudentEnrollments(studentId);
-        return ResponseEntity.ok(enrollments);
+    public ResponseEntity<List<EnrollmentSummary>> getActiveStudentEnrollments(@PathVariable Long studentId,
+                                                                               @RequestParam(required = false) String cursor,
+                                                                               @RequestParam(defaultValue = KeysetPagination.DEFAULT_LIMIT) int limit) {
+        int pageSize = KeysetPagination.limit(limit);
+        List<EnrollmentSummary> enrollments = enrollmentService.getActiveStudentEnrollmentsAfter(studentId, KeysetPagination.afterId(cursor), pageSize);
+        return KeysetPagination.page(enrollments, pageSize, enrollment -> KeysetPagination.idCursor(enrollment.id()));
     }
     
     @GetMapping
-    @Operation(summary = "Get all enrollments")
-    public ResponseEntity<List<Enrollment>> getAllEnrollments() {
-        List<Enrollment> enrollments = enrollmentService.getAllEnrollments();
-        return ResponseEntity.ok(enrollments);
+    @Operation(summary = "Get enrollments, one keyset page at a time")
+    public ResponseEntity<List<EnrollmentSummary>> getAllEnrollments(@RequestParam(required = false) String cursor,
+                                                                     @RequestParam(defaultValue = KeysetPagination.DEFAULT_LIMIT) int limit) {
+        int pageSize = KeysetPagination.limit(limit);
+        List<EnrollmentSummary> enrollments = enrollmentService.getEnrollmentsAfter(KeysetPagination.afterId(cursor), pageSize);
+        return KeysetPagination.page(enrollments, pageSize, enrollment -> KeysetPagination.idCursor(enrollment.id()));
+    }
+    
+    @GetMapping(value = "/export", produces = KeysetPagination.NDJSON)
+    @Operation(summary = "Stream all enrollments as NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportEnrollments() {
+        return ResponseEntity.ok(KeysetPagination.ndjson(objectMapper,
+            cursor -> enrollmentService.getEnrollmentsAfter(KeysetPagination.afterId(cursor), KeysetPagination.MAX_LIMIT),
+            enrollment -> KeysetPagination.idCursor(enrollment.id())));
     }
     
     @GetMapping("/course/{courseId}")
     @Operation(summary = "Get all enrollments for a course")
-    public ResponseEntity<List<Enrollment>> getCourseEnrollments(@PathVariable Long courseId) {
-        List<Enrollment> enrollments = enrollmentService.getCourseEnrollments(courseId);
-        return ResponseEntity.ok(enrollments);
+    public ResponseEntity<List<EnrollmentSummary>> getCourseEnrollments(@PathVariable Long courseId,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(defaultValue = KeysetPagination.DEFAULT_LIMIT) int limit) {
+        int pageSize = KeysetPagination.limit(limit);
+        List<EnrollmentSummary> enrollments = enrollmentService.getCourseEnrollmentsAfter(courseId, KeysetPagination.afterId(cursor), pageSize);
+        return KeysetPagination.page(enrollments, pageSize, enrollment -> KeysetPagination.idCursor(enrollment.id()));
     }
     
     @GetMapping("/course/{courseId}/active")
     @Operation(summary = "Get active enrollments for a course")
-    public ResponseEntity<List<Enrollment>> getActiveCourseEnrollments(@PathVariable Long courseId) {
-        List<Enrollment> enrollments = enrollmentService.getActiveCourseEnrollments(courseId);
-        return ResponseEntity.ok(enrollments);
+    public ResponseEntity<List<EnrollmentSummary>> getActiveCourseEnrollments(@PathVariable Long courseId,
+                                                                              @RequestParam(required = false) String cursor,
+                                                                              @RequestParam(defaultValue = KeysetPagination.DEFAULT_LIMIT) int limit) {
+        int pageSize = KeysetPagination.limit(limit);
+        List<EnrollmentSummary> enrollments = enrollmentService.getActiveCourseEnrollmentsAfter(courseId, KeysetPagination.afterId(cursor), pageSize);
+        return KeysetPagination.page(enrollments, pageSize, enrollment -> KeysetPagination.idCursor(enrollment.id()));
     }
     
     @GetMapping("/check")
@@ -1,5 +1,6 @@
 package com.scms.controller;
 
+import com.scms.dto.GradeSummary;
 import com.scms.entity.Grade;
 import com.scms.service.GradeService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -22,43 +23,49 @@ public class GradeController {
     
     @PostMapping("/record")
     @Operation(summary = "Record a grade for a student in a course")
-    public ResponseEntity<Grade> recordGrade(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<GradeSummary> recordGrade(@RequestBody Map<String, Object> request) {
         Long studentId = Long.valueOf(request.get("studentId").toString());
         Long courseId = Long.valueOf(request.get("courseId").toString());
         BigDecimal score = new BigDecimal(request.get("score").toString());
         String comments = (String) request.get("comments");
         
         Grade grade = gradeService.recordGrade(studentId, courseId, score, comments);
-        return ResponseEntity.ok(grade);
+        return ResponseEntity.ok(GradeSummary.from(grade));
     }
     
     @PutMapping("/{id}")
     @Operation(summary = "Update a grade")
-    public ResponseEntity<Grade> updateGrade(@PathVariable Long id, @RequestBody Map<String, Object> request) {
+    public ResponseEntity<GradeSummary> updateGrade(@PathVariable Long id, @RequestBody Map<String, Object> request) {
         BigDecimal score = new BigDecimal(request.get("score").toString());
         String comments = (String) request.get("comments");
         
         Grade grade = gradeService.updateGrade(id, score, comments);
-        return ResponseEntity.ok(grade);
+        return ResponseEntity.ok(GradeSummary.from(grade));
     }
     
     @GetMapping("/student/{studentId}")
     @Operation(summary = "Get all grades for a student")
-    public ResponseEntity<List<Grade>> getStudentGrades(@PathVariable Long studentId) {
-        List<Grade> grades = gradeService.getStudentGrades(studentId);
-        return ResponseEntity.ok(grades);
+    public ResponseEntity<List<GradeSummary>> getStudentGrades(@PathVariable Long studentId,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(defaultValue = KeysetPagination.DEFAULT_LIMIT) int limit) {
+        int pageSize = KeysetPagination.limit(limit);
+        List<GradeSummary> grades = gradeService.getStudentGradesAfter(studentId, KeysetPagination.afterId(cursor), pageSize);
+        return KeysetPagination.page(grades, pageSize, grade -> KeysetPagination.idCursor(grade.id()));
     }
     
     @GetMapping("/course/{courseId}")
     @Operation(summary = "Get all grades for a course")
-    public ResponseEntity<List<Grade>> getCourseGrades(@PathVariable Long courseId) {
-        List<Grade> grades = gradeService.getCourseGrades(courseId);
-        return ResponseEntity.ok(grades);
+    public ResponseEntity<List<GradeSummary>> getCourseGrades(@PathVariable Long courseId,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = KeysetPagination.DEFAULT_LIMIT) int limit) {
+        int pageSize = KeysetPagination.limit(limit);
+        List<GradeSummary> grades = gradeService.getCourseGradesAfter(courseId, KeysetPagination.afterId(cursor), pageSize);
+        return KeysetPagination.page(grades, pageSize, grade -> KeysetPagination.idCursor(grade.id()));
     }
     
     @GetMapping("/student/{studentId}/course/{courseId}")
     @Operation(summary = "Get grade for a specific student and course")
-    public ResponseEntity<Grade> getGrade(@PathVariable Long studentId, @PathVariable Long courseId) {
+    public ResponseEntity<GradeSummary> getGrade(@PathVariable Long studentId, @PathVariable Long courseId) {
         return gradeService.getGrade(studentId, courseId)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
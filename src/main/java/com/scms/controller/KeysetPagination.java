@@ -0,0 +1,104 @@
+package com.scms.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.function.Function;
+
+// Shared handling for the keyset-paginated list endpoints: ?cursor=&limit= in, the page as a
+// JSON array out, and the cursor for the following page in the X-Next-Cursor header
+final class KeysetPagination {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String NDJSON = "application/x-ndjson";
+    static final String DEFAULT_LIMIT = "100";
+    static final int MAX_LIMIT = 1000;
+
+    private KeysetPagination() {}
+
+    static int limit(int requested) {
+        return Math.max(1, Math.min(requested, MAX_LIMIT));
+    }
+
+    // Id cursors are the last id already returned; ids are positive so 0 means "from the start"
+    static Long afterId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.valueOf(cursor);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    static String idCursor(Long id) {
+        return String.valueOf(id);
+    }
+
+    // Newest-first feeds are ordered by (sentDate, id) descending; null means "from the newest"
+    static SentDateKey beforeSentDate(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        int separator = cursor.lastIndexOf('~');
+        if (separator < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+        try {
+            return new SentDateKey(LocalDateTime.parse(cursor.substring(0, separator)),
+                Long.valueOf(cursor.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    static String sentDateCursor(LocalDateTime sentDate, Long id) {
+        return sentDate + "~" + id;
+    }
+
+    static <T> ResponseEntity<List<T>> page(List<T> items, int limit, Function<T, String> cursorOf) {
+        if (items.size() < limit) {
+            return ResponseEntity.ok(items);
+        }
+        return ResponseEntity.ok()
+            .header(NEXT_CURSOR_HEADER, cursorOf.apply(items.get(items.size() - 1)))
+            .body(items);
+    }
+
+    // Writes one JSON document per line, fetching MAX_LIMIT rows at a time so memory stays bounded
+    static <T> StreamingResponseBody ndjson(ObjectMapper objectMapper, Function<String, List<T>> fetchAfter,
+                                            Function<T, String> cursorOf) {
+        return out -> {
+            String cursor = null;
+            while (true) {
+                List<T> batch = fetchAfter.apply(cursor);
+                for (T item : batch) {
+                    out.write(objectMapper.writeValueAsBytes(item));
+                    out.write('\n');
+                }
+                out.flush();
+                if (batch.size() < MAX_LIMIT) {
+                    return;
+                }
+                cursor = cursorOf.apply(batch.get(batch.size() - 1));
+            }
+        };
+    }
+
+    static final class SentDateKey {
+        final LocalDateTime sentDate;
+        final Long id;
+
+        SentDateKey(LocalDateTime sentDate, Long id) {
+            this.sentDate = sentDate;
+            this.id = id;
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.scms.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scms.dto.EnrollmentSummary;
+import com.scms.dto.GradeSummary;
+import com.scms.dto.StudentSummary;
 import com.scms.entity.Student;
-import com.scms.entity.Enrollment;
-import com.scms.entity.Grade;
 import com.scms.entity.Notification;
+import com.scms.event.NotificationPushEvent;
+import com.scms.event.NotificationPushRegistry;
+import com.scms.event.NotificationStreamLimitException;
 import com.scms.service.StudentService;
 import com.scms.service.EnrollmentService;
 import com.scms.service.GradeService;
@@ -11,8 +16,13 @@ import com.scms.service.NotificationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -35,15 +45,21 @@ public class StudentController {
     @Autowired
     private NotificationService notificationService;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private NotificationPushRegistry notificationPushRegistry;
+    
     @PostMapping("/register")
     @Operation(summary = "Register a new student")
-    public ResponseEntity<Student> registerStudent(@RequestBody Map<String, String> request) {
+    public ResponseEntity<StudentSummary> registerStudent(@RequestBody Map<String, String> request) {
         String name = request.get("name");
         String email = request.get("email");
         String password = request.get("password");
         
         Student student = studentService.registerStudent(name, email, password);
-        return ResponseEntity.ok(student);
+        return ResponseEntity.ok(StudentSummary.from(student));
     }
     
     @PostMapping("/login")
@@ -53,31 +69,41 @@ public class StudentController {
         String password = request.get("password");
         
         return studentService.authenticateStudent(email, password)
-                .map(student -> ResponseEntity.ok(Map.of("message", "Login successful", "student", student)))
+                .map(student -> ResponseEntity.ok(Map.of("message", "Login successful", "student", StudentSummary.from(student))))
                 .orElse(ResponseEntity.badRequest().body(Map.of("message", "Invalid credentials")));
     }
     
     @GetMapping
-    @Operation(summary = "Get all students")
-    public ResponseEntity<List<Student>> getAllStudents() {
-        List<Student> students = studentService.getAllStudents();
-        return ResponseEntity.ok(students);
+    @Operation(summary = "Get students, one keyset page at a time")
+    public ResponseEntity<List<StudentSummary>> getAllStudents(@RequestParam(required = false) String cursor,
+                                                               @RequestParam(defaultValue = KeysetPagination.DEFAULT_LIMIT) int limit) {
+        int pageSize = KeysetPagination.limit(limit);
+        List<StudentSummary> students = studentService.getStudentsAfter(KeysetPagination.afterId(cursor), pageSize);
+        return KeysetPagination.page(students, pageSize, student -> KeysetPagination.idCursor(student.id()));
+    }
+    
+    @GetMapping(value = "/export", produces = KeysetPagination.NDJSON)
+    @Operation(summary = "Stream all students as NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportStudents() {
+        return ResponseEntity.ok(KeysetPagination.ndjson(objectMapper,
+            cursor -> studentService.getStudentsAfter(KeysetPagination.afterId(cursor), KeysetPagination.MAX_LIMIT),
+            student -> KeysetPagination.idCursor(student.id())));
     }
     
     @GetMapping("/{id}")
     @Operation(summary = "Get student by ID")
-    public ResponseEntity<Student> getStudentById(@PathVariable Long id) {
-        return studentService.getStudentById(id)
+    public ResponseEntity<StudentSummary> getStudentById(@PathVariable Long id) {
+        return studentService.getStudentSummary(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
     
     @PutMapping("/{id}")
     @Operation(summary = "Update student information")
-    public ResponseEntity<Student> updateStudent(@PathVariable Long id, @RequestBody Student student) {
+    public ResponseEntity<StudentSummary> updateStudent(@PathVariable Long id, @RequestBody Student student) {
         student.setId(id);
         Student updatedStudent = studentService.updateStudent(student);
-        return ResponseEntity.ok(updatedStudent);
+        return ResponseEntity.ok(StudentSummary.from(updatedStudent));
     }
     
     @DeleteMapping("/{id}")
@@ -89,16 +115,22 @@ public class StudentController {
     
     @GetMapping("/{id}/enrollments")
     @Operation(summary = "Get student enrollments")
-    public ResponseEntity<List<Enrollment>> getStudentEnrollments(@PathVariable Long id) {
-        List<Enrollment> enrollments = enrollmentService.getStudentEnrollments(id);
-        return ResponseEntity.ok(enrollments);
+    public ResponseEntity<List<EnrollmentSummary>> getStudentEnrollments(@PathVariable Long id,
+                                                                         @RequestParam(required = false) String cursor,
+                                                                         @RequestParam(defaultValue = KeysetPagination.DEFAULT_LIMIT) int limit) {
+        int pageSize = KeysetPagination.limit(limit);
+        List<EnrollmentSummary> enrollments = enrollmentService.getStudentEnrollmentsAfter(id, KeysetPagination.afterId(cursor), pageSize);
+        return KeysetPagination.page(enrollments, pageSize, enrollment -> KeysetPagination.idCursor(enrollment.id()));
     }
     
     @GetMapping("/{id}/grades")
     @Operation(summary = "Get student grades")
-    public ResponseEntity<List<Grade>> getStudentGrades(@PathVariable Long id) {
-        List<Grade> grades = gradeService.getStudentGrades(id);
-        return ResponseEntity.ok(grades);
+    public ResponseEntity<List<GradeSummary>> getStudentGrades(@PathVariable Long id,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(defaultValue = KeysetPagination.DEFAULT_LIMIT) int limit) {
+        int pageSize = KeysetPagination.limit(limit);
+        List<GradeSummary> grades = gradeService.getStudentGradesAfter(id, KeysetPagination.afterId(cursor), pageSize);
+        return KeysetPagination.page(grades, pageSize, grade -> KeysetPagination.idCursor(grade.id()));
     }
     
     @GetMapping("/{id}/gpa")
@@ -110,9 +142,16 @@ public class StudentController {
     
     @GetMapping("/{id}/notifications")
     @Operation(summary = "Get student notifications")
-    public ResponseEntity<List<Notification>> getStudentNotifications(@PathVariable Long id) {
-        List<Notification> notifications = notificationService.getStudentNotifications(id);
-        return ResponseEntity.ok(notifications);
+    public ResponseEntity<List<Notification>> getStudentNotifications(@PathVariable Long id,
+                                                                      @RequestParam(required = false) String cursor,
+                                                                      @RequestParam(defaultValue = KeysetPagination.DEFAULT_LIMIT) int limit) {
+        int pageSize = KeysetPagination.limit(limit);
+        KeysetPagination.SentDateKey before = KeysetPagination.beforeSentDate(cursor);
+        List<Notification> notifications = before == null
+            ? notificationService.getStudentNotificationsBefore(id, null, null, pageSize)
+            : notificationService.getStudentNotificationsBefore(id, before.sentDate, before.id, pageSize);
+        return KeysetPagination.page(notifications, pageSize,
+            notification -> KeysetPagination.sentDateCursor(notification.getSentDate(), notification.getId()));
     }
     
     @GetMapping("/{id}/notifications/unread")
@@ -122,6 +161,21 @@ public class StudentController {
         return ResponseEntity.ok(Map.of("studentId", id, "unreadCount", count));
     }
     
+    // Pushes "unread" (current count, sent on connect) and "notification" events instead of polling
+    @GetMapping(value = "/{id}/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to student notifications (server-sent events)")
+    public SseEmitter streamNotifications(@PathVariable Long id) {
+        if (studentService.getStudentSummary(id).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Student not found");
+        }
+        try {
+            return notificationPushRegistry.subscribe(NotificationPushEvent.Audience.STUDENT, id,
+                notificationService.getUnreadCount(id));
+        } catch (NotificationStreamLimitException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+    
     @PostMapping("/{id}/notifications/{notificationId}/read")
     @Operation(summary = "Mark notification as read")
     public ResponseEntity<?> markNotificationAsRead(@PathVariable Long id, @PathVariable Long notificationId) {
@@ -132,7 +186,7 @@ public class StudentController {
     @PostMapping("/{id}/notifications/read-all")
     @Operation(summary = "Mark all notifications as read")
     public ResponseEntity<?> markAllNotificationsAsRead(@PathVariable Long id) {
-        notificationService.markAllAsRead(id);
-        return ResponseEntity.ok(Map.of("message", "All notifications marked as read"));
+        int updated = notificationService.markAllAsRead(id);
+        return ResponseEntity.ok(Map.of("message", "All notifications marked as read", "updated", updated));
     }
 }
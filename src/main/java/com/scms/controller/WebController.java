@@ -10,7 +10,12 @@ import com.scms.service.CourseService;
 import com.scms.service.EnrollmentService;
 import com.scms.service.GradeService;
 import com.scms.service.NotificationService;
+import com.scms.service.DashboardStatisticsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -19,13 +24,14 @@ import jakarta.servlet.http.HttpSession;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Controller
 public class WebController {
     
+    private static final int MAX_STUDENTS_PAGE_SIZE = 200;
+    
     @Autowired
     private StudentService studentService;
     
@@ -41,6 +47,9 @@ public class WebController {
     @Autowired
     private NotificationService notificationService;
     
+    @Autowired
+    private DashboardStatisticsService dashboardStatisticsService;
+    
     @GetMapping("/")
     public String home() {
         return "index";
@@ -56,13 +65,13 @@ public class WebController {
         List<Enrollment> enrollments = enrollmentService.getStudentEnrollments(studentId);
         List<Grade> grades = gradeService.getStudentGrades(studentId);
         BigDecimal gpa = studentService.calculateStudentGPA(studentId);
-        // long unreadNotifications = notificationService.getUnreadCount(studentId); // Temporarily disabled
+        long unreadNotifications = notificationService.getUnreadCount(studentId);
         
         model.addAttribute("student", student);
         model.addAttribute("enrollments", enrollments);
         model.addAttribute("grades", grades);
         model.addAttribute("gpa", gpa);
-        model.addAttribute("unreadNotifications", 0L); // Set to 0 temporarily
+        model.addAttribute("unreadNotifications", unreadNotifications);
         
         return "student/dashboard";
     }
@@ -124,72 +133,36 @@ public class WebController {
     
     @GetMapping("/admin/dashboard")
     public String adminDashboard(Model model) {
-        List<Student> students = studentService.getAllStudents();
-        List<Course> courses = courseService.getAllCourses();
-        List<Enrollment> enrollments = enrollmentService.getAllEnrollments();
-        List<Grade> grades = gradeService.getAllGrades();
-        
-        model.addAttribute("totalStudents", students.size());
-        model.addAttribute("totalCourses", courses.size());
-        model.addAttribute("totalEnrollments", enrollments.size());
-        model.addAttribute("totalGrades", grades.size());
+        model.addAllAttributes(dashboardStatisticsService.getDashboardStats());
         
         return "admin/dashboard";
     }
     
     @GetMapping("/admin/students")
-    public String adminStudents(Model model) {
+    public String adminStudents(@RequestParam(defaultValue = "0") int page,
+                                @RequestParam(defaultValue = "50") int size,
+                                Model model) {
         try {
-            List<Student> students = studentService.getAllStudents();
+            Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_STUDENTS_PAGE_SIZE), Sort.by("id"));
+            Page<Student> studentPage = studentService.getStudents(pageable);
+            List<Long> studentIds = studentPage.getContent().stream()
+                .map(Student::getId)
+                .collect(Collectors.toList());
             
-            // Calculate actual GPA and enrollment counts
-            Map<Long, BigDecimal> studentGPAs = new HashMap<>();
-            Map<Long, Integer> studentEnrollmentCounts = new HashMap<>();
+            // GPA and enrollment counts for the whole page in one grouped query each
+            Map<Long, BigDecimal> studentGPAs = studentService.calculateStudentGPAs(studentIds);
+            Map<Long, Integer> studentEnrollmentCounts = enrollmentService.countEnrollmentsByStudent(studentIds);
             
-            for (Student student : students) {
-                try {
-                    BigDecimal gpa = studentService.calculateStudentGPA(student.getId());
-                    studentGPAs.put(student.getId(), gpa);
-                    
-                    List<Enrollment> enrollments = enrollmentService.getStudentEnrollments(student.getId());
-                    studentEnrollmentCounts.put(student.getId(), enrollments.size());
-                } catch (Exception e) {
-                    studentGPAs.put(student.getId(), BigDecimal.ZERO);
-                    studentEnrollmentCounts.put(student.getId(), 0);
-                }
-            }
-            
-            // Calculate statistics for the cards using the same approach as admin dashboard
-            int totalStudents = students.size();
-            List<Enrollment> allEnrollments = enrollmentService.getAllEnrollments();
-            int totalEnrollments = allEnrollments.size();
-            
-            // Calculate average GPA
-            BigDecimal totalGPA = studentGPAs.values().stream()
-                .filter(gpa -> gpa.compareTo(BigDecimal.ZERO) > 0)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-            int studentsWithGrades = (int) studentGPAs.values().stream()
-                .filter(gpa -> gpa.compareTo(BigDecimal.ZERO) > 0)
-                .count();
-            BigDecimal averageGPA = studentsWithGrades > 0 ? 
-                totalGPA.divide(BigDecimal.valueOf(studentsWithGrades), 2, BigDecimal.ROUND_HALF_UP) : 
-                BigDecimal.ZERO;
-            
-            // Count active students (students with enrollments)
-            int activeStudents = (int) studentEnrollmentCounts.values().stream()
-                .filter(count -> count > 0)
-                .count();
-            
-            model.addAttribute("students", students);
+            model.addAttribute("students", studentPage.getContent());
+            model.addAttribute("studentPage", studentPage);
             model.addAttribute("studentGPAs", studentGPAs);
             model.addAttribute("studentEnrollmentCounts", studentEnrollmentCounts);
-
             
-            // Calculate statistics using simple approach
-            model.addAttribute("totalStudents", students.size());
-            model.addAttribute("totalEnrollments", allEnrollments.size());
-            model.addAttribute("averageGPA", averageGPA);
-            model.addAttribute("activeStudents", activeStudents);
+            // Statistics cards cover all students, not just the current page
+            model.addAttribute("totalStudents", studentPage.getTotalElements());
+            model.addAttribute("totalEnrollments", enrollmentService.countEnrollments());
+            model.addAttribute("averageGPA", studentService.calculateAverageGPA());
+            model.addAttribute("activeStudents", enrollmentService.countStudentsWithEnrollments());
             return "admin/students";
         } catch (Exception e) {
             e.printStackTrace();
@@ -0,0 +1,11 @@
+package com.scms.dto;
+
+import com.scms.entity.AdminNotification;
+
+import java.time.LocalDateTime;
+
+// An admin notification without its administrator, for the list and export endpoints
+public record AdminNotificationSummary(Long id, String message, LocalDateTime sentDate,
+                                       AdminNotification.AdminNotificationType type, boolean read,
+                                       Long relatedEntityId, String relatedEntityType) {
+}
@@ -0,0 +1,15 @@
+package com.scms.dto;
+
+import com.scms.entity.Enrollment;
+
+import java.time.LocalDateTime;
+
+// An enrollment row with its foreign keys; student and course are fetched separately when needed
+public record EnrollmentSummary(Long id, Long studentId, Long courseId, LocalDateTime enrollmentDate,
+                                Enrollment.EnrollmentStatus status) {
+
+    public static EnrollmentSummary from(Enrollment enrollment) {
+        return new EnrollmentSummary(enrollment.getId(), enrollment.getStudentId(), enrollment.getCourseId(),
+            enrollment.getEnrollmentDate(), enrollment.getStatus());
+    }
+}
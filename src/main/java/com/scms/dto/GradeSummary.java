@@ -0,0 +1,21 @@
+package com.scms.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.scms.entity.Grade;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record GradeSummary(Long id, Long studentId, Long courseId, BigDecimal score, LocalDateTime recordedDate,
+                           String comments) {
+
+    public static GradeSummary from(Grade grade) {
+        return new GradeSummary(grade.getId(), grade.getStudent().getId(), grade.getCourse().getId(),
+            grade.getScore(), grade.getRecordedDate(), grade.getComments());
+    }
+
+    @JsonProperty("letterGrade")
+    public String letterGrade() {
+        return Grade.letterGradeFor(score);
+    }
+}
@@ -0,0 +1,11 @@
+package com.scms.dto;
+
+import com.scms.entity.Student;
+
+// What the REST API shows of a student: never the password hash or the lazy collections
+public record StudentSummary(Long id, String name, String email) {
+
+    public static StudentSummary from(Student student) {
+        return new StudentSummary(student.getId(), student.getName(), student.getEmail());
+    }
+}
@@ -5,7 +5,10 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "admin_notifications")
+@Table(name = "admin_notifications", indexes = {
+    @Index(name = "idx_admin_notifications_admin_read_sent", columnList = "admin_id, is_read, sent_date"),
+    @Index(name = "idx_admin_notifications_sent_date", columnList = "sent_date")
+})
 public class AdminNotification {
     
     @Id
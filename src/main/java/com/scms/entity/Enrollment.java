@@ -6,7 +6,11 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "enrollments")
+@Table(name = "enrollments", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_enrollments_student_course", columnNames = {"student_id", "course_id"})
+}, indexes = {
+    @Index(name = "idx_enrollments_status_course", columnList = "status, course_id")
+})
 public class Enrollment {
     
     @Id
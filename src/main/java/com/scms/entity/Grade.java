@@ -8,7 +8,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "grades")
+@Table(name = "grades", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_grades_student_course", columnNames = {"student_id", "course_id"})
+})
 public class Grade {
     
     @Id
@@ -96,6 +98,10 @@ public class Grade {
     }
     
     public String getLetterGrade() {
+        return letterGradeFor(score);
+    }
+    
+    public static String letterGradeFor(BigDecimal score) {
         if (score == null) return "N/A";
         
         double scoreValue = score.doubleValue();
@@ -0,0 +1,61 @@
+package com.scms.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Progress of a one-shot data migration, so it can resume after a restart and is skipped once done
+@Entity
+@Table(name = "migration_markers")
+public class MigrationMarker {
+    
+    @Id
+    @Column(length = 100)
+    private String name;
+    
+    // Highest row id already processed
+    @Column(nullable = false)
+    private long lastId;
+    
+    @Column
+    private LocalDateTime completedAt;
+    
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+    
+    public MigrationMarker() {}
+    
+    public MigrationMarker(String name) {
+        this.name = name;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public long getLastId() {
+        return lastId;
+    }
+    
+    public void setLastId(long lastId) {
+        this.lastId = lastId;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+    
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    public boolean isCompleted() {
+        return completedAt != null;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -5,7 +5,9 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notifications_recipient_read_sent", columnList = "recipient_id, is_read, sent_date")
+})
 public class Notification {
     
     @Id
@@ -0,0 +1,66 @@
+package com.scms.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+
+// Running grade totals per student, maintained alongside every grade write so that
+// GPA reads do not have to scan the student's grades.
+@Entity
+@Table(name = "student_gpa_aggregates")
+public class StudentGpaAggregate {
+    
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+    
+    // Sum of 4.0-scale grade points, in tenths of a point
+    @Column(nullable = false)
+    private long gradePointTenths;
+    
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal scoreSum = BigDecimal.ZERO;
+    
+    @Column(nullable = false)
+    private long gradeCount;
+    
+    public StudentGpaAggregate() {}
+    
+    public StudentGpaAggregate(Long studentId, long gradePointTenths, BigDecimal scoreSum, long gradeCount) {
+        this.studentId = studentId;
+        this.gradePointTenths = gradePointTenths;
+        this.scoreSum = scoreSum;
+        this.gradeCount = gradeCount;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public long getGradePointTenths() {
+        return gradePointTenths;
+    }
+    
+    public void setGradePointTenths(long gradePointTenths) {
+        this.gradePointTenths = gradePointTenths;
+    }
+    
+    public BigDecimal getScoreSum() {
+        return scoreSum;
+    }
+    
+    public void setScoreSum(BigDecimal scoreSum) {
+        this.scoreSum = scoreSum;
+    }
+    
+    public long getGradeCount() {
+        return gradeCount;
+    }
+    
+    public void setGradeCount(long gradeCount) {
+        this.gradeCount = gradeCount;
+    }
+}
@@ -0,0 +1,44 @@
+package com.scms.event;
+
+import com.scms.entity.AdminNotification;
+
+import java.time.LocalDateTime;
+
+// A notification addressed to every administrator; fanned out after the publishing transaction commits
+public class AdminBroadcastEvent {
+
+    private final String message;
+    private final AdminNotification.AdminNotificationType type;
+    private final Long relatedEntityId;
+    private final String relatedEntityType;
+    private final LocalDateTime sentDate;
+
+    public AdminBroadcastEvent(String message, AdminNotification.AdminNotificationType type,
+                               Long relatedEntityId, String relatedEntityType) {
+        this.message = message;
+        this.type = type;
+        this.relatedEntityId = relatedEntityId;
+        this.relatedEntityType = relatedEntityType;
+        this.sentDate = LocalDateTime.now();
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public AdminNotification.AdminNotificationType getType() {
+        return type;
+    }
+
+    public Long getRelatedEntityId() {
+        return relatedEntityId;
+    }
+
+    public String getRelatedEntityType() {
+        return relatedEntityType;
+    }
+
+    public LocalDateTime getSentDate() {
+        return sentDate;
+    }
+}
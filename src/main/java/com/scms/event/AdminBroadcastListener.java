@@ -0,0 +1,47 @@
+package com.scms.event;
+
+import com.scms.repository.AdminNotificationBatchRepository;
+import com.scms.repository.AdministratorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+@Component
+public class AdminBroadcastListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminBroadcastListener.class);
+
+    @Autowired
+    private AdministratorRepository administratorRepository;
+
+    @Autowired
+    private AdminNotificationBatchRepository adminNotificationBatchRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Runs only once the enrollment (or other source) row is committed, off the request thread
+    @Async("notificationExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onAdminBroadcast(AdminBroadcastEvent event) {
+        List<Long> adminIds = administratorRepository.findAllIds();
+        if (adminIds.isEmpty()) {
+            return;
+        }
+        adminNotificationBatchRepository.insertForAdmins(adminIds, event.getMessage(), event.getType(),
+            event.getRelatedEntityId(), event.getRelatedEntityType(), event.getSentDate());
+        eventPublisher.publishEvent(NotificationPushEvent.broadcast(NotificationPushEvent.Audience.ADMIN,
+            adminIds, event.getMessage(), event.getType().name()));
+        logger.debug("Fanned out {} notification to {} administrator(s)", event.getType(), adminIds.size());
+    }
+}
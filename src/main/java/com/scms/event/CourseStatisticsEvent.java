@@ -0,0 +1,76 @@
+package com.scms.event;
+
+import com.scms.entity.Enrollment;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+// Published alongside enrollment status and grade writes; applied to the course statistics once the write commits
+public class CourseStatisticsEvent {
+
+    private final List<EnrollmentChange> enrollmentChanges;
+    private final List<GradeChange> gradeChanges;
+
+    public CourseStatisticsEvent(List<EnrollmentChange> enrollmentChanges, List<GradeChange> gradeChanges) {
+        this.enrollmentChanges = enrollmentChanges;
+        this.gradeChanges = gradeChanges;
+    }
+
+    // from is null for a new enrollment, to is null for a deleted one
+    public static CourseStatisticsEvent enrollment(Long courseId, Enrollment.EnrollmentStatus from, Enrollment.EnrollmentStatus to) {
+        return new CourseStatisticsEvent(List.of(new EnrollmentChange(courseId, from, to)), List.of());
+    }
+
+    public static CourseStatisticsEvent enrollments(List<Long> courseIds, Enrollment.EnrollmentStatus from, Enrollment.EnrollmentStatus to) {
+        List<EnrollmentChange> changes = new ArrayList<>(courseIds.size());
+        for (Long courseId : courseIds) {
+            changes.add(new EnrollmentChange(courseId, from, to));
+        }
+        return new CourseStatisticsEvent(changes, List.of());
+    }
+
+    // previousScore is null for a new grade, score is null for a deleted one
+    public static CourseStatisticsEvent grade(Long courseId, BigDecimal previousScore, BigDecimal score) {
+        return new CourseStatisticsEvent(List.of(), List.of(new GradeChange(courseId, previousScore, score)));
+    }
+
+    public static CourseStatisticsEvent grades(List<GradeChange> changes) {
+        return new CourseStatisticsEvent(List.of(), changes);
+    }
+
+    public List<EnrollmentChange> getEnrollmentChanges() { return enrollmentChanges; }
+    public List<GradeChange> getGradeChanges() { return gradeChanges; }
+
+    public static final class EnrollmentChange {
+        private final Long courseId;
+        private final Enrollment.EnrollmentStatus from;
+        private final Enrollment.EnrollmentStatus to;
+
+        public EnrollmentChange(Long courseId, Enrollment.EnrollmentStatus from, Enrollment.EnrollmentStatus to) {
+            this.courseId = courseId;
+            this.from = from;
+            this.to = to;
+        }
+
+        public Long getCourseId() { return courseId; }
+        public Enrollment.EnrollmentStatus getFrom() { return from; }
+        public Enrollment.EnrollmentStatus getTo() { return to; }
+    }
+
+    public static final class GradeChange {
+        private final Long courseId;
+        private final BigDecimal previousScore;
+        private final BigDecimal score;
+
+        public GradeChange(Long courseId, BigDecimal previousScore, BigDecimal score) {
+            this.courseId = courseId;
+            this.previousScore = previousScore;
+            this.score = score;
+        }
+
+        public Long getCourseId() { return courseId; }
+        public BigDecimal getPreviousScore() { return previousScore; }
+        public BigDecimal getScore() { return score; }
+    }
+}
@@ -0,0 +1,94 @@
+package com.scms.event;
+
+import com.scms.entity.Notification;
+import com.scms.repository.NotificationBatchRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Published alongside notification writes; delivered to open SSE connections once the write commits
+public class NotificationPushEvent {
+
+    public enum Audience { STUDENT, ADMIN }
+
+    public static final String NOTIFICATION = "notification";
+    public static final String UNREAD = "unread";
+    public static final String READ = "read";
+
+    public static final String UNREAD_COUNT = "unreadCount";
+
+    private final Audience audience;
+    private final String name;
+    private final List<Delivery> deliveries;
+
+    public NotificationPushEvent(Audience audience, String name, List<Delivery> deliveries) {
+        this.audience = audience;
+        this.name = name;
+        this.deliveries = deliveries;
+    }
+
+    public static NotificationPushEvent notification(Audience audience, Long recipientId, String message, String type) {
+        return new NotificationPushEvent(audience, NOTIFICATION, List.of(Delivery.notification(recipientId, message, type)));
+    }
+
+    public static NotificationPushEvent forStudent(Notification notification) {
+        return notification(Audience.STUDENT, notification.getRecipient().getId(),
+            notification.getMessage(), notification.getType().name());
+    }
+
+    public static NotificationPushEvent broadcast(Audience audience, List<Long> recipientIds, String message, String type) {
+        List<Delivery> deliveries = new ArrayList<>(recipientIds.size());
+        for (Long recipientId : recipientIds) {
+            deliveries.add(Delivery.notification(recipientId, message, type));
+        }
+        return new NotificationPushEvent(audience, NOTIFICATION, deliveries);
+    }
+
+    // Counterpart of a NotificationBatchRepository insert
+    public static NotificationPushEvent forStudents(List<NotificationBatchRepository.Row> rows, Notification.NotificationType type) {
+        List<Delivery> deliveries = new ArrayList<>(rows.size());
+        for (NotificationBatchRepository.Row row : rows) {
+            deliveries.add(Delivery.notification(row.getRecipientId(), row.getMessage(), type.name()));
+        }
+        return new NotificationPushEvent(Audience.STUDENT, NOTIFICATION, deliveries);
+    }
+
+    public static NotificationPushEvent unreadCount(Audience audience, Long recipientId, long unreadCount) {
+        return new NotificationPushEvent(audience, UNREAD,
+            List.of(new Delivery(recipientId, Map.of(UNREAD_COUNT, unreadCount))));
+    }
+
+    // One previously unread notification was read or deleted
+    public static NotificationPushEvent read(Audience audience, Long recipientId, Long notificationId) {
+        return new NotificationPushEvent(audience, READ,
+            List.of(new Delivery(recipientId, Map.of("id", notificationId))));
+    }
+
+    public Audience getAudience() { return audience; }
+    public String getName() { return name; }
+    public List<Delivery> getDeliveries() { return deliveries; }
+
+    public static final class Delivery {
+        private final Long recipientId;
+        private final Map<String, Object> data;
+
+        public Delivery(Long recipientId, Map<String, Object> data) {
+            this.recipientId = recipientId;
+            this.data = data;
+        }
+
+        public static Delivery notification(Long recipientId, String message, String type) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("message", message);
+            data.put("type", type);
+            data.put("sentDate", LocalDateTime.now());
+            return new Delivery(recipientId, data);
+        }
+
+        public Long getRecipientId() { return recipientId; }
+        public Map<String, Object> getData() { return data; }
+    }
+}
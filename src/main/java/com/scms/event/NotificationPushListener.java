@@ -0,0 +1,21 @@
+package com.scms.event;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class NotificationPushListener {
+
+    @Autowired
+    private NotificationPushRegistry notificationPushRegistry;
+
+    // Only pushes what was committed, and never blocks the request thread on a slow client
+    @Async("notificationExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNotificationPush(NotificationPushEvent event) {
+        notificationPushRegistry.push(event);
+    }
+}
@@ -0,0 +1,108 @@
+package com.scms.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Open SSE connections by recipient. An idle connection is just an async request parked in the
+// container, so no thread is held until something is pushed to it.
+@Component
+public class NotificationPushRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPushRegistry.class);
+
+    private final ConcurrentHashMap<String, Set<SseEmitter>> emittersByRecipient = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    @Value("${scms.notifications.push.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${scms.notifications.push.max-connections:60000}")
+    private int maxConnections;
+
+    // Sends the current unread count straight away so the client needs no separate request for it
+    public SseEmitter subscribe(NotificationPushEvent.Audience audience, Long recipientId, long unreadCount) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new NotificationStreamLimitException("Too many open notification streams");
+        }
+        String key = key(audience, recipientId);
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        // compute/computeIfPresent keep add and remove atomic per recipient
+        emittersByRecipient.compute(key, (k, emitters) -> {
+            Set<SseEmitter> set = emitters != null ? emitters : ConcurrentHashMap.newKeySet();
+            set.add(emitter);
+            return set;
+        });
+        emitter.onCompletion(() -> remove(key, emitter));
+        emitter.onTimeout(() -> remove(key, emitter));
+        emitter.onError(e -> remove(key, emitter));
+
+        send(key, emitter, NotificationPushEvent.UNREAD, Map.of("unreadCount", unreadCount));
+        return emitter;
+    }
+
+    public void push(NotificationPushEvent event) {
+        for (NotificationPushEvent.Delivery delivery : event.getDeliveries()) {
+            String key = key(event.getAudience(), delivery.getRecipientId());
+            Set<SseEmitter> emitters = emittersByRecipient.get(key);
+            if (emitters == null) {
+                continue;
+            }
+            for (SseEmitter emitter : emitters) {
+                send(key, emitter, event.getName(), delivery.getData());
+            }
+        }
+    }
+
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    // Keeps proxies from closing idle streams and finds connections whose client has gone away
+    @Scheduled(fixedDelayString = "${scms.notifications.push.heartbeat-ms:25000}")
+    public void heartbeat() {
+        emittersByRecipient.forEach((key, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("keepalive"));
+                } catch (IOException | IllegalStateException e) {
+                    remove(key, emitter);
+                }
+            }
+        });
+    }
+
+    private void send(String key, SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // The container reports the broken connection through onError; just stop sending to it
+            logger.debug("Dropping notification stream for {}: {}", key, e.getMessage());
+            remove(key, emitter);
+        }
+    }
+
+    private void remove(String key, SseEmitter emitter) {
+        emittersByRecipient.computeIfPresent(key, (k, emitters) -> {
+            if (emitters.remove(emitter)) {
+                connections.decrementAndGet();
+            }
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private static String key(NotificationPushEvent.Audience audience, Long recipientId) {
+        return audience.name() + ":" + recipientId;
+    }
+}
@@ -0,0 +1,13 @@
+package com.scms.event;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Every notification stream slot is taken; the client should reconnect later
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class NotificationStreamLimitException extends RuntimeException {
+
+    public NotificationStreamLimitException(String message) {
+        super(message);
+    }
+}
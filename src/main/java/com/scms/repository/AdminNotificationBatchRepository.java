@@ -0,0 +1,60 @@
+package com.scms.repository;
+
+import com.scms.entity.AdminNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// JDBC batch inserts for admin notifications; IDENTITY ids keep Hibernate from batching these
+@Repository
+public class AdminNotificationBatchRepository {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO admin_notifications (message, admin_id, sent_date, type, is_read, related_entity_id, related_entity_type) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${scms.notifications.fanout.batch-size:500}")
+    private int batchSize;
+
+    public void insertForAdmins(List<Long> adminIds, String message, AdminNotification.AdminNotificationType type,
+                                Long relatedEntityId, String relatedEntityType, LocalDateTime sentDate) {
+        Timestamp sentAt = Timestamp.valueOf(sentDate);
+        jdbcTemplate.batchUpdate(INSERT_SQL, adminIds, batchSize, (ps, adminId) -> {
+            ps.setString(1, message);
+            ps.setLong(2, adminId);
+            ps.setTimestamp(3, sentAt);
+            ps.setString(4, type.name());
+            ps.setBoolean(5, false);
+            ps.setObject(6, relatedEntityId, Types.BIGINT);
+            ps.setString(7, relatedEntityType);
+        });
+    }
+
+    // One notification per related entity, all addressed to the same admin
+    public void insertForAdmin(Long adminId, Map<Long, String> messagesByEntityId, AdminNotification.AdminNotificationType type,
+                               String relatedEntityType, LocalDateTime sentDate) {
+        if (messagesByEntityId.isEmpty()) {
+            return;
+        }
+        Timestamp sentAt = Timestamp.valueOf(sentDate);
+        jdbcTemplate.batchUpdate(INSERT_SQL, messagesByEntityId.entrySet(), batchSize, (ps, entry) -> {
+            ps.setString(1, entry.getValue());
+            ps.setLong(2, adminId);
+            ps.setTimestamp(3, sentAt);
+            ps.setString(4, type.name());
+            ps.setBoolean(5, false);
+            ps.setLong(6, entry.getKey());
+            ps.setString(7, relatedEntityType);
+        });
+    }
+}
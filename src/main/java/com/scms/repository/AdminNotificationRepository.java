@@ -1,11 +1,16 @@
 package com.scms.repository;
 
+import com.scms.dto.AdminNotificationSummary;
 import com.scms.entity.AdminNotification;
 import com.scms.entity.Administrator;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -18,9 +23,34 @@ public interface AdminNotificationRepository extends JpaRepository<AdminNotifica
     @Query("SELECT COUNT(n) FROM AdminNotification n WHERE n.admin = ?1 AND n.read = false")
     long countUnreadByAdmin(Administrator admin);
     
+    @Query("SELECT COUNT(n) FROM AdminNotification n WHERE n.admin.id = ?1 AND n.read = false")
+    long countUnreadByAdminId(Long adminId);
+    
+    // Rows of {adminId, unreadCount}; admins with nothing unread are absent
+    @Query("SELECT n.admin.id, COUNT(n) FROM AdminNotification n WHERE n.admin.id IN ?1 AND n.read = false GROUP BY n.admin.id")
+    List<Object[]> countUnreadByAdminIds(Collection<Long> adminIds);
+    
     List<AdminNotification> findByType(AdminNotification.AdminNotificationType type);
     
     List<AdminNotification> findByAdminAndTypeOrderBySentDateDesc(Administrator admin, AdminNotification.AdminNotificationType type);
     
     List<AdminNotification> findAllByOrderBySentDateDesc();
+    
+    // Keyset pages, newest first; projections so a long export does not fill the persistence context
+    @Query(SUMMARY + "ORDER BY n.sentDate DESC, n.id DESC")
+    List<AdminNotificationSummary> findSummaries(Pageable pageable);
+    
+    @Query(SUMMARY + "WHERE n.sentDate < ?1 OR (n.sentDate = ?1 AND n.id < ?2) ORDER BY n.sentDate DESC, n.id DESC")
+    List<AdminNotificationSummary> findSummariesBefore(LocalDateTime sentDate, Long id, Pageable pageable);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE AdminNotification n SET n.read = true WHERE n.admin = ?1 AND n.read = false")
+    int markAllAsReadByAdmin(Administrator admin);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE AdminNotification n SET n.read = true WHERE n.read = false")
+    int markAllAsRead();
+    
+    String SUMMARY = "SELECT new com.scms.dto.AdminNotificationSummary(n.id, n.message, n.sentDate, n.type, n.read, " +
+                     "n.relatedEntityId, n.relatedEntityType) FROM AdminNotification n ";
 }
@@ -3,17 +3,29 @@ package com.scms.repository;
 import com.scms.entity.Administrator;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AdministratorRepository extends JpaRepository<Administrator, Long> {
     
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Administrator> findAll();
+    
     Optional<Administrator> findByEmail(String email);
     
     boolean existsByEmail(String email);
     
     @Query("SELECT a FROM Administrator a WHERE a.email = :email AND a.password = :password")
     Optional<Administrator> findByEmailAndPassword(@Param("email") String email, @Param("password") String password);
+    
+    @Query("SELECT a.id FROM Administrator a")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Long> findAllIds();
 }
@@ -3,7 +3,12 @@ package com.scms.repository;
 import com.scms.entity.Course;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,9 +16,24 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     
     List<Course> findByTitleContainingIgnoreCase(String title);
     
-    @Query("SELECT c FROM Course c WHERE c.capacity > (SELECT COUNT(e) FROM Enrollment e WHERE e.course = c AND e.status = 'ACTIVE')")
+    @Query("SELECT c.id, c.title FROM Course c WHERE c.id IN :ids")
+    List<Object[]> findTitlesByIds(@Param("ids") Collection<Long> ids);
+    
+    // The full-course subquery is not correlated, so it runs once as a single grouped scan of the
+    // (status, course_id) index instead of one COUNT per course row
+    @Query("SELECT c FROM Course c WHERE c.id NOT IN (" + FULL_COURSE_IDS + ")")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Course> findAvailableCourses();
     
-    @Query("SELECT c FROM Course c WHERE c.capacity <= (SELECT COUNT(e) FROM Enrollment e WHERE e.course = c AND e.status = 'ACTIVE')")
+    @Query("SELECT c FROM Course c WHERE c.id IN (" + FULL_COURSE_IDS + ")")
     List<Course> findFullCourses();
+    
+    // {courseId, title, capacity} for every course, for reports built from CourseStatisticsStore
+    @Query("SELECT c.id, c.title, c.capacity FROM Course c ORDER BY c.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Object[]> findReportRows();
+    
+    // Pending enrollments hold a seat as well, the same count CourseSeatRegistry admits against
+    String FULL_COURSE_IDS = "SELECT fc.id FROM Enrollment e JOIN e.course fc WHERE e.status IN ('PENDING', 'ACTIVE') " +
+                             "GROUP BY fc.id, fc.capacity HAVING COUNT(e) >= fc.capacity";
 }
@@ -1,12 +1,16 @@
 package com.scms.repository;
 
+import com.scms.dto.EnrollmentSummary;
 import com.scms.entity.Enrollment;
 import com.scms.entity.Student;
 import com.scms.entity.Course;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +21,13 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     
     List<Enrollment> findByCourse(Course course);
     
+    // For the list pages, which render the student's name and course title on every row
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.student JOIN FETCH e.course ORDER BY e.id")
+    List<Enrollment> findAllWithStudentAndCourse();
+    
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.course WHERE e.student = :student ORDER BY e.id")
+    List<Enrollment> findByStudentWithCourse(@Param("student") Student student);
+    
     @Query("SELECT e FROM Enrollment e WHERE e.student = :student AND e.status = 'ACTIVE'")
     List<Enrollment> findActiveEnrollmentsByStudent(@Param("student") Student student);
     
@@ -29,4 +40,60 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     long countActiveEnrollmentsByCourse(@Param("course") Course course);
 
     List<Enrollment> findByStatus(Enrollment.EnrollmentStatus status);
+    
+    @Query("SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = :courseId AND e.status IN :statuses")
+    long countEnrollmentsByCourseIdAndStatuses(@Param("courseId") Long courseId, @Param("statuses") Collection<Enrollment.EnrollmentStatus> statuses);
+    
+    @Query("SELECT e.course.id, COUNT(e) FROM Enrollment e WHERE e.status IN :statuses GROUP BY e.course.id")
+    List<Object[]> countEnrollmentsByCourseAndStatuses(@Param("statuses") Collection<Enrollment.EnrollmentStatus> statuses);
+    
+    // {courseId, status, count}; statuses a course has no enrollments in are left out
+    @Query("SELECT e.course.id, e.status, COUNT(e) FROM Enrollment e WHERE e.course.id IN :courseIds GROUP BY e.course.id, e.status")
+    List<Object[]> countEnrollmentsByCourseIdsGroupedByStatus(@Param("courseIds") Collection<Long> courseIds);
+    
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.student JOIN FETCH e.course WHERE e.id IN :ids")
+    List<Enrollment> findWithStudentAndCourseByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT e.id FROM Enrollment e WHERE e.status = 'PENDING' AND (:courseId IS NULL OR e.course.id = :courseId) " +
+           "AND e.id > :afterId ORDER BY e.id")
+    List<Long> findPendingIdsAfter(@Param("courseId") Long courseId, @Param("afterId") Long afterId, Pageable pageable);
+    
+    // Only moves rows still in the expected status; the caller compares the count
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Enrollment e SET e.status = :to WHERE e.id IN :ids AND e.status = :from")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("from") Enrollment.EnrollmentStatus from,
+                     @Param("to") Enrollment.EnrollmentStatus to);
+    
+    @Query("SELECT e.status, COUNT(e) FROM Enrollment e GROUP BY e.status")
+    List<Object[]> countEnrollmentsGroupedByStatus();
+    
+    @Query("SELECT e.student.id, COUNT(e) FROM Enrollment e WHERE e.student.id IN :studentIds GROUP BY e.student.id")
+    List<Object[]> countEnrollmentsByStudentIds(@Param("studentIds") Collection<Long> studentIds);
+    
+    @Query("SELECT COUNT(DISTINCT e.student.id) FROM Enrollment e")
+    long countStudentsWithEnrollments();
+    
+    // Keyset pages ordered by id
+    List<Enrollment> findByStatusAndIdGreaterThanOrderByIdAsc(Enrollment.EnrollmentStatus status, Long afterId, Pageable pageable);
+    
+    // Summary keyset pages for the REST API; the foreign keys are read from the enrollment row, no joins
+    @Query(SUMMARY + "WHERE e.id > :afterId ORDER BY e.id")
+    List<EnrollmentSummary> findSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query(SUMMARY + "WHERE e.student.id = :studentId AND e.id > :afterId ORDER BY e.id")
+    List<EnrollmentSummary> findSummariesByStudentIdAfter(@Param("studentId") Long studentId, @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query(SUMMARY + "WHERE e.student.id = :studentId AND e.status = :status AND e.id > :afterId ORDER BY e.id")
+    List<EnrollmentSummary> findSummariesByStudentIdAndStatusAfter(@Param("studentId") Long studentId, @Param("status") Enrollment.EnrollmentStatus status,
+                                                                   @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query(SUMMARY + "WHERE e.course.id = :courseId AND e.id > :afterId ORDER BY e.id")
+    List<EnrollmentSummary> findSummariesByCourseIdAfter(@Param("courseId") Long courseId, @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query(SUMMARY + "WHERE e.course.id = :courseId AND e.status = :status AND e.id > :afterId ORDER BY e.id")
+    List<EnrollmentSummary> findSummariesByCourseIdAndStatusAfter(@Param("courseId") Long courseId, @Param("status") Enrollment.EnrollmentStatus status,
+                                                                  @Param("afterId") Long afterId, Pageable pageable);
+    
+    String SUMMARY = "SELECT new com.scms.dto.EnrollmentSummary(e.id, e.student.id, e.course.id, e.enrollmentDate, e.status) " +
+                     "FROM Enrollment e ";
 }
@@ -1,14 +1,18 @@
 package com.scms.repository;
 
+import com.scms.dto.GradeSummary;
 import com.scms.entity.Grade;
 import com.scms.entity.Student;
 import com.scms.entity.Course;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface GradeRepository extends JpaRepository<Grade, Long> {
@@ -17,6 +21,13 @@ public interface GradeRepository extends JpaRepository<Grade, Long> {
     
     List<Grade> findByCourse(Course course);
     
+    // For the list pages, which render the student's name and course title on every row
+    @Query("SELECT g FROM Grade g JOIN FETCH g.student JOIN FETCH g.course ORDER BY g.id")
+    List<Grade> findAllWithStudentAndCourse();
+    
+    @Query("SELECT g FROM Grade g JOIN FETCH g.course WHERE g.student = :student ORDER BY g.id")
+    List<Grade> findByStudentWithCourse(@Param("student") Student student);
+    
     Optional<Grade> findByStudentAndCourse(Student student, Course course);
     
     @Query("SELECT AVG(g.score) FROM Grade g WHERE g.student = :student")
@@ -24,4 +35,36 @@ public interface GradeRepository extends JpaRepository<Grade, Long> {
     
     @Query("SELECT AVG(g.score) FROM Grade g WHERE g.course = :course")
     Double getAverageGradeByCourse(@Param("course") Course course);
+    
+    @Query("SELECT g.student.id, g.score FROM Grade g WHERE g.student.id IN :studentIds")
+    List<Object[]> findScoresByStudentIds(@Param("studentIds") Collection<Long> studentIds);
+    
+    @Query("SELECT g.student.id, g.score FROM Grade g")
+    Stream<Object[]> streamAllScores();
+    
+    // Superset of the requested pairs; callers match on (studentId, courseId)
+    @Query("SELECT g.id, g.student.id, g.course.id, g.score FROM Grade g " +
+           "WHERE g.student.id IN :studentIds AND g.course.id IN :courseIds")
+    List<Object[]> findScoresForStudentsAndCourses(@Param("studentIds") Collection<Long> studentIds,
+                                                   @Param("courseIds") Collection<Long> courseIds);
+    
+    // Score histogram per course: {courseId, score, count}
+    @Query("SELECT g.course.id, g.score, COUNT(g) FROM Grade g WHERE g.course.id IN :courseIds GROUP BY g.course.id, g.score")
+    List<Object[]> countScoresByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+    
+    @Query("SELECT DISTINCT g.student.id FROM Grade g WHERE g.course.id = :courseId")
+    List<Long> findStudentIdsByCourseId(@Param("courseId") Long courseId);
+    
+    // Summary keyset pages for the REST API; the foreign keys are read from the grade row, no joins
+    @Query(SUMMARY + "WHERE g.student.id = :studentId AND g.id > :afterId ORDER BY g.id")
+    List<GradeSummary> findSummariesByStudentIdAfter(@Param("studentId") Long studentId, @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query(SUMMARY + "WHERE g.course.id = :courseId AND g.id > :afterId ORDER BY g.id")
+    List<GradeSummary> findSummariesByCourseIdAfter(@Param("courseId") Long courseId, @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query(SUMMARY + "WHERE g.student.id = :studentId AND g.course.id = :courseId")
+    Optional<GradeSummary> findSummaryByStudentIdAndCourseId(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+    
+    String SUMMARY = "SELECT new com.scms.dto.GradeSummary(g.id, g.student.id, g.course.id, g.score, g.recordedDate, g.comments) " +
+                     "FROM Grade g ";
 }
@@ -0,0 +1,9 @@
+package com.scms.repository;
+
+import com.scms.entity.MigrationMarker;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MigrationMarkerRepository extends JpaRepository<MigrationMarker, String> {
+}
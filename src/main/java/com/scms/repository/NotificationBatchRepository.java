@@ -0,0 +1,48 @@
+package com.scms.repository;
+
+import com.scms.entity.Notification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// JDBC batch inserts for student notifications written by the bulk admin operations
+@Repository
+public class NotificationBatchRepository {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO notifications (message, recipient_id, sent_date, type, is_read) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void insert(List<Row> rows, Notification.NotificationType type, LocalDateTime sentDate) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Timestamp sentAt = Timestamp.valueOf(sentDate);
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.message);
+            ps.setLong(2, row.recipientId);
+            ps.setTimestamp(3, sentAt);
+            ps.setString(4, type.name());
+            ps.setBoolean(5, false);
+        });
+    }
+
+    public static final class Row {
+        private final Long recipientId;
+        private final String message;
+
+        public Row(Long recipientId, String message) {
+            this.recipientId = recipientId;
+            this.message = message;
+        }
+
+        public Long getRecipientId() { return recipientId; }
+        public String getMessage() { return message; }
+    }
+}
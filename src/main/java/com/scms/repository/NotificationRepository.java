@@ -2,10 +2,14 @@ package com.scms.repository;
 
 import com.scms.entity.Notification;
 import com.scms.entity.Student;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -21,7 +25,31 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     @Query("SELECT COUNT(n) FROM Notification n WHERE n.recipient = :recipient AND n.read = false")
     long countUnreadNotificationsByRecipient(@Param("recipient") Student recipient);
     
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.recipient.id = :studentId AND n.read = false")
+    long countUnreadByRecipientId(@Param("studentId") Long studentId);
+    
+    // Rows of {recipientId, unreadCount}; recipients with nothing unread are absent
+    @Query("SELECT n.recipient.id, COUNT(n) FROM Notification n WHERE n.recipient.id IN :studentIds AND n.read = false " +
+           "GROUP BY n.recipient.id")
+    List<Object[]> countUnreadByRecipientIds(@Param("studentIds") Collection<Long> studentIds);
+    
     List<Notification> findAllByOrderBySentDateDesc();
     
     List<Notification> findByReadFalse();
+    
+    // Keyset pages, newest first
+    List<Notification> findByRecipient_IdOrderBySentDateDescIdDesc(Long studentId, Pageable pageable);
+    
+    @Query("SELECT n FROM Notification n WHERE n.recipient.id = :studentId AND " +
+           "(n.sentDate < :sentDate OR (n.sentDate = :sentDate AND n.id < :id)) ORDER BY n.sentDate DESC, n.id DESC")
+    List<Notification> findByRecipientIdBefore(@Param("studentId") Long studentId, @Param("sentDate") LocalDateTime sentDate,
+                                               @Param("id") Long id, Pageable pageable);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.read = true WHERE n.recipient.id = :studentId AND n.read = false")
+    int markAllAsReadByRecipientId(@Param("studentId") Long studentId);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.read = true WHERE n.read = false")
+    int markAllAsRead();
 }
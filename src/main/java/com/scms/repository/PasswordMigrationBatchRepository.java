@@ -0,0 +1,72 @@
+package com.scms.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// Keyset pages of account passwords and JDBC batch updates for the startup password migration;
+// plain JDBC so that a full pass never loads the accounts into a persistence context
+@Repository
+public class PasswordMigrationBatchRepository {
+
+    public enum AccountTable {
+        STUDENTS("students"), ADMINISTRATORS("administrators");
+
+        private final String tableName;
+
+        AccountTable(String tableName) {
+            this.tableName = tableName;
+        }
+
+        public String getTableName() { return tableName; }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public List<Row> findPage(AccountTable table, long afterId, int limit) {
+        return jdbcTemplate.query(
+            "SELECT id, password FROM " + table.tableName + " WHERE id > ? ORDER BY id LIMIT ?",
+            (rs, rowNum) -> new Row(rs.getLong(1), rs.getString(2)), afterId, limit);
+    }
+
+    // Only replaces a password that is still the one read, so a concurrent password change wins
+    public int updatePasswords(AccountTable table, List<Row> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(
+            "UPDATE " + table.tableName + " SET password = ? WHERE id = ? AND password = ?",
+            rows, rows.size(), (ps, row) -> {
+                ps.setString(1, row.newPassword);
+                ps.setLong(2, row.id);
+                ps.setString(3, row.password);
+            });
+        int updated = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // Drivers may report SUCCESS_NO_INFO (-2) for rewritten batches
+                updated += count < 0 ? 1 : count;
+            }
+        }
+        return updated;
+    }
+
+    public static final class Row {
+        private final long id;
+        private final String password;
+        private String newPassword;
+
+        public Row(long id, String password) {
+            this.id = id;
+            this.password = password;
+        }
+
+        public long getId() { return id; }
+        public String getPassword() { return password; }
+        public String getNewPassword() { return newPassword; }
+        public void setNewPassword(String newPassword) { this.newPassword = newPassword; }
+    }
+}
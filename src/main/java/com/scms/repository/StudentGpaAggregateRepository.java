@@ -0,0 +1,29 @@
+package com.scms.repository;
+
+import com.scms.entity.StudentGpaAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface StudentGpaAggregateRepository extends JpaRepository<StudentGpaAggregate, Long> {
+    
+    @Modifying
+    @Query("UPDATE StudentGpaAggregate a SET a.gradePointTenths = a.gradePointTenths + :pointTenths, " +
+           "a.scoreSum = a.scoreSum + :score, a.gradeCount = a.gradeCount + :count WHERE a.studentId = :studentId")
+    int applyDelta(@Param("studentId") Long studentId, @Param("pointTenths") long pointTenths,
+                   @Param("score") BigDecimal score, @Param("count") long count);
+    
+    @Query("SELECT a.studentId FROM StudentGpaAggregate a WHERE a.studentId IN :studentIds")
+    List<Long> findExistingStudentIds(@Param("studentIds") Collection<Long> studentIds);
+    
+    @Query("SELECT a.gradePointTenths, a.gradeCount FROM StudentGpaAggregate a WHERE a.gradeCount > 0")
+    Stream<Object[]> streamGradePointTotals();
+}
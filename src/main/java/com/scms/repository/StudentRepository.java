@@ -1,10 +1,14 @@
 package com.scms.repository;
 
+import com.scms.dto.StudentSummary;
 import com.scms.entity.Student;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +20,14 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     
     @Query("SELECT s FROM Student s WHERE s.email = :email AND s.password = :password")
     Optional<Student> findByEmailAndPassword(@Param("email") String email, @Param("password") String password);
+    
+    // REST views: only the summary columns, never the password hash
+    @Query("SELECT new com.scms.dto.StudentSummary(s.id, s.name, s.email) FROM Student s WHERE s.id > :afterId ORDER BY s.id")
+    List<StudentSummary> findSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT new com.scms.dto.StudentSummary(s.id, s.name, s.email) FROM Student s WHERE s.id = :id")
+    Optional<StudentSummary> findSummaryById(@Param("id") Long id);
+    
+    @Query("SELECT s.id FROM Student s WHERE s.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
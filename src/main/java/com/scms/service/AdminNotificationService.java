@@ -1,14 +1,21 @@
 package com.scms.service;
 
+import com.scms.cache.UnreadNotificationCounters;
+import com.scms.dto.AdminNotificationSummary;
 import com.scms.entity.AdminNotification;
 import com.scms.entity.Administrator;
 import com.scms.entity.Enrollment;
 import com.scms.entity.Student;
+import com.scms.event.AdminBroadcastEvent;
+import com.scms.event.NotificationPushEvent;
 import com.scms.repository.AdminNotificationRepository;
-import com.scms.repository.AdministratorRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -18,12 +25,23 @@ public class AdminNotificationService {
     private AdminNotificationRepository adminNotificationRepository;
     
     @Autowired
-    private AdministratorRepository administratorRepository;
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private UnreadNotificationCounters unreadCounters;
     
     public List<AdminNotification> getAllAdminNotifications() {
         return adminNotificationRepository.findAllByOrderBySentDateDesc();
     }
     
+    // Newest first; a null sentDate starts from the most recent notification
+    public List<AdminNotificationSummary> getAllAdminNotificationsBefore(LocalDateTime sentDate, Long id, int limit) {
+        if (sentDate == null) {
+            return adminNotificationRepository.findSummaries(PageRequest.of(0, limit));
+        }
+        return adminNotificationRepository.findSummariesBefore(sentDate, id, PageRequest.of(0, limit));
+    }
+    
     public List<AdminNotification> getAdminNotifications(Administrator admin) {
         return adminNotificationRepository.findByAdminOrderBySentDateDesc(admin);
     }
@@ -33,45 +51,60 @@ public class AdminNotificationService {
     }
     
     public long getUnreadCount(Administrator admin) {
-        return adminNotificationRepository.countUnreadByAdmin(admin);
+        return unreadCounters.get(NotificationPushEvent.Audience.ADMIN, admin.getId());
     }
     
     public AdminNotification createNotification(String message, Administrator admin, AdminNotification.AdminNotificationType type) {
         AdminNotification notification = new AdminNotification(message, admin, type);
-        return adminNotificationRepository.save(notification);
+        return saveAndPush(notification);
     }
     
     public AdminNotification createNotification(String message, Administrator admin, AdminNotification.AdminNotificationType type, Long relatedEntityId, String relatedEntityType) {
         AdminNotification notification = new AdminNotification(message, admin, type, relatedEntityId, relatedEntityType);
-        return adminNotificationRepository.save(notification);
+        return saveAndPush(notification);
+    }
+    
+    private AdminNotification saveAndPush(AdminNotification notification) {
+        notification = adminNotificationRepository.save(notification);
+        eventPublisher.publishEvent(NotificationPushEvent.notification(NotificationPushEvent.Audience.ADMIN,
+            notification.getAdmin().getId(), notification.getMessage(), notification.getType().name()));
+        return notification;
     }
     
     public void markAsRead(Long notificationId) {
         adminNotificationRepository.findById(notificationId).ifPresent(notification -> {
+            boolean wasUnread = !notification.isRead();
             notification.setRead(true);
             adminNotificationRepository.save(notification);
+            if (wasUnread) {
+                eventPublisher.publishEvent(NotificationPushEvent.read(NotificationPushEvent.Audience.ADMIN,
+                    notification.getAdmin().getId(), notification.getId()));
+            }
         });
     }
     
-    public void markAllAsRead(Administrator admin) {
-        List<AdminNotification> unreadNotifications = getUnreadAdminNotifications(admin);
-        for (AdminNotification notification : unreadNotifications) {
-            notification.setRead(true);
-        }
-        adminNotificationRepository.saveAll(unreadNotifications);
+    @Transactional
+    public int markAllAsRead(Administrator admin) {
+        int updated = adminNotificationRepository.markAllAsReadByAdmin(admin);
+        eventPublisher.publishEvent(NotificationPushEvent.unreadCount(NotificationPushEvent.Audience.ADMIN, admin.getId(), 0));
+        return updated;
+    }
+    
+    @Transactional
+    public int markAllAsRead() {
+        int updated = adminNotificationRepository.markAllAsRead();
+        unreadCounters.invalidateAll(NotificationPushEvent.Audience.ADMIN);
+        return updated;
     }
     
     // Specific notification creation methods
     public void notifyPendingEnrollmentRequest(Enrollment enrollment) {
-        // Notify all admins about pending enrollment
-        List<Administrator> admins = administratorRepository.findAll();
-        for (Administrator admin : admins) {
-            String message = String.format("New enrollment request from %s for course: %s", 
-                enrollment.getStudent().getName(), 
-                enrollment.getCourse().getTitle());
-            createNotification(message, admin, AdminNotification.AdminNotificationType.PENDING_ENROLLMENT_REQUEST, 
-                enrollment.getId(), "ENROLLMENT");
-        }
+        // Notify all admins about pending enrollment once the enrollment commits
+        String message = String.format("New enrollment request from %s for course: %s", 
+            enrollment.getStudent().getName(), 
+            enrollment.getCourse().getTitle());
+        eventPublisher.publishEvent(new AdminBroadcastEvent(message, 
+            AdminNotification.AdminNotificationType.PENDING_ENROLLMENT_REQUEST, enrollment.getId(), "ENROLLMENT"));
     }
     
     public void notifyEnrollmentApproved(Enrollment enrollment, Administrator admin) {
@@ -91,15 +124,12 @@ public class AdminNotificationService {
     }
     
     public void notifyWithdrawalRequest(Enrollment enrollment) {
-        // Notify all admins about withdrawal
-        List<Administrator> admins = administratorRepository.findAll();
-        for (Administrator admin : admins) {
-            String message = String.format("Student %s has withdrawn from course: %s", 
-                enrollment.getStudent().getName(), 
-                enrollment.getCourse().getTitle());
-            createNotification(message, admin, AdminNotification.AdminNotificationType.WITHDRAWAL_APPROVED, 
-                enrollment.getId(), "ENROLLMENT");
-        }
+        // Notify all admins about withdrawal once the withdrawal commits
+        String message = String.format("Student %s has withdrawn from course: %s", 
+            enrollment.getStudent().getName(), 
+            enrollment.getCourse().getTitle());
+        eventPublisher.publishEvent(new AdminBroadcastEvent(message, 
+            AdminNotification.AdminNotificationType.WITHDRAWAL_APPROVED, enrollment.getId(), "ENROLLMENT"));
     }
     
     public void notifyGradeAdded(Student student, String courseTitle, Administrator admin) {
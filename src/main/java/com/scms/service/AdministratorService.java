@@ -1,5 +1,8 @@
 package com.scms.service;
 
+import com.scms.cache.CourseStatisticsStore;
+import com.scms.cache.VerifiedCredentialCache;
+import com.scms.config.LegacyPasswords;
 import com.scms.entity.Administrator;
 import com.scms.entity.Student;
 import com.scms.entity.Course;
@@ -13,13 +16,15 @@ import com.scms.repository.GradeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -43,6 +48,15 @@ public class AdministratorService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private GpaAggregateService gpaAggregateService;
+    
+    @Autowired
+    private VerifiedCredentialCache verifiedCredentials;
+    
+    @Autowired
+    private CourseStatisticsStore courseStatistics;
+    
     public Administrator createAdministrator(String name, String email, String password) {
         if (administratorRepository.existsByEmail(email)) {
             throw new RuntimeException("Administrator with email " + email + " already exists");
@@ -52,11 +66,33 @@ public class AdministratorService {
         return administratorRepository.save(administrator);
     }
     
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<Administrator> authenticateAdministrator(String email, String password) {
+        return authenticateAdministrator(email, password, null);
+    }
+    
+    // A session that already proved this password skips the BCrypt check. No transaction: the
+    // check may wait for a hashing thread, and the only write is the occasional rehash.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<Administrator> authenticateAdministrator(String email, String password, String sessionToken) {
         Optional<Administrator> adminOpt = administratorRepository.findByEmail(email);
         if (adminOpt.isPresent()) {
             Administrator administrator = adminOpt.get();
-            if (passwordEncoder.matches(password, administrator.getPassword())) {
+            String storedHash = administrator.getPassword();
+            if (sessionToken != null && verifiedCredentials.isVerified(sessionToken, "admin", email, password, storedHash)) {
+                return Optional.of(administrator);
+            }
+            // Not yet reached by the password migration: compare the plaintext and leave encoding it
+            // to PasswordMigrationJob, so no BCrypt hash runs on the request thread
+            boolean legacy = !LegacyPasswords.isEncoded(storedHash);
+            if (legacy ? LegacyPasswords.matchesPlaintext(password, storedHash) : passwordEncoder.matches(password, storedHash)) {
+                if (!legacy && passwordEncoder.upgradeEncoding(storedHash)) {
+                    administrator.setPassword(passwordEncoder.encode(password));
+                    administratorRepository.save(administrator);
+                }
+                if (sessionToken != null) {
+                    verifiedCredentials.remember(sessionToken, "admin", email, password, administrator.getPassword());
+                }
                 return Optional.of(administrator);
             }
         }
@@ -95,42 +131,62 @@ public class AdministratorService {
         return gradeRepository.findAll();
     }
     
+    // Counts come from the statistics store; only courses it has not seen yet are queried
+    @Transactional(readOnly = true)
     public Map<String, Object> generateEnrollmentReport() {
-        List<Course> courses = courseRepository.findAll();
-        Map<String, Object> report = Map.of(
+        List<Object[]> courses = courseRepository.findReportRows();
+        Map<Long, CourseStatisticsStore.Snapshot> statistics = courseStatistics.getAll(courseIds(courses));
+        Map<String, Object> courseStats = new LinkedHashMap<>();
+        long totalEnrollments = 0;
+        for (Object[] course : courses) {
+            CourseStatisticsStore.Snapshot snapshot = statistics.get((Long) course[0]);
+            int capacity = (Integer) course[2];
+            long enrolled = snapshot.getEnrollmentCount(Enrollment.EnrollmentStatus.ACTIVE);
+            totalEnrollments += snapshot.getTotalEnrollments();
+            courseStats.put((String) course[1], Map.of(
+                "capacity", capacity,
+                "enrolled", enrolled,
+                "available", capacity - enrolled
+            ));
+        }
+        return Map.of(
+            // Not courseStats.size(): courses that share a title share its entry
             "totalCourses", courses.size(),
             "totalStudents", studentRepository.count(),
-            "totalEnrollments", enrollmentRepository.count(),
-            "courseEnrollmentStats", courses.stream()
-                .collect(Collectors.toMap(
-                    Course::getTitle,
-                    course -> Map.of(
-                        "capacity", course.getCapacity(),
-                        "enrolled", enrollmentRepository.countActiveEnrollmentsByCourse(course),
-                        "available", course.getCapacity() - enrollmentRepository.countActiveEnrollmentsByCourse(course)
-                    )
-                ))
+            "totalEnrollments", totalEnrollments,
+            "courseEnrollmentStats", courseStats
         );
-        return report;
     }
     
+    @Transactional(readOnly = true)
     public Map<String, Object> generateGradeReport() {
-        List<Course> courses = courseRepository.findAll();
-        Map<String, Object> report = Map.of(
-            "totalGrades", gradeRepository.count(),
-            "courseGradeStats", courses.stream()
-                .collect(Collectors.toMap(
-                    Course::getTitle,
-                    course -> {
-                        Double avgGrade = gradeRepository.getAverageGradeByCourse(course);
-                        return Map.of(
-                            "averageGrade", avgGrade != null ? avgGrade : 0.0,
-                            "totalGrades", gradeRepository.findByCourse(course).size()
-                        );
-                    }
-                ))
+        List<Object[]> courses = courseRepository.findReportRows();
+        Map<Long, CourseStatisticsStore.Snapshot> statistics = courseStatistics.getAll(courseIds(courses));
+        Map<String, Object> courseStats = new LinkedHashMap<>();
+        long totalGrades = 0;
+        for (Object[] course : courses) {
+            CourseStatisticsStore.Snapshot snapshot = statistics.get((Long) course[0]);
+            totalGrades += snapshot.getGradeCount();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("averageGrade", snapshot.getAverageScore() != null ? snapshot.getAverageScore() : 0.0);
+            stats.put("totalGrades", snapshot.getGradeCount());
+            stats.put("minGrade", snapshot.getMinScore() != null ? snapshot.getMinScore().doubleValue() : 0.0);
+            stats.put("maxGrade", snapshot.getMaxScore() != null ? snapshot.getMaxScore().doubleValue() : 0.0);
+            stats.put("standardDeviation", snapshot.getStandardDeviation());
+            courseStats.put((String) course[1], stats);
+        }
+        return Map.of(
+            "totalGrades", totalGrades,
+            "courseGradeStats", courseStats
         );
-        return report;
+    }
+    
+    private static List<Long> courseIds(List<Object[]> courses) {
+        List<Long> ids = new ArrayList<>(courses.size());
+        for (Object[] course : courses) {
+            ids.add((Long) course[0]);
+        }
+        return ids;
     }
     
     public Map<String, Object> generateStudentReport(Long studentId) {
@@ -155,7 +211,7 @@ public class AdministratorService {
                 .count(),
             "totalGrades", grades.size(),
             "averageGrade", averageGrade != null ? averageGrade : 0.0,
-            "gpa", averageGrade != null ? BigDecimal.valueOf(averageGrade) : BigDecimal.ZERO
+            "gpa", gpaAggregateService.getGpa(student.getId())
         );
     }
 
@@ -1,5 +1,7 @@
 package com.scms.service;
 
+import com.scms.cache.CourseSeatRegistry;
+import com.scms.cache.CourseStatisticsStore;
 import com.scms.entity.Course;
 import com.scms.entity.Enrollment;
 import com.scms.repository.CourseRepository;
@@ -21,6 +23,15 @@ public class CourseService {
     @Autowired
     private EnrollmentRepository enrollmentRepository;
     
+    @Autowired
+    private CourseSeatRegistry courseSeatRegistry;
+    
+    @Autowired
+    private GpaAggregateService gpaAggregateService;
+    
+    @Autowired
+    private CourseStatisticsStore courseStatistics;
+    
     public Course createCourse(String title, String description, Integer capacity, String prerequisites) {
         Course course = new Course(title, description, capacity, prerequisites);
         return courseRepository.save(course);
@@ -51,14 +62,19 @@ public class CourseService {
     }
     
     public void deleteCourse(Long id) {
+        // Grades cascade with the course, so the affected students' GPAs are recomputed
+        List<Long> gradedStudentIds = gpaAggregateService.findStudentsGradedInCourse(id);
         courseRepository.deleteById(id);
+        gpaAggregateService.rebuildStudents(gradedStudentIds);
+        courseSeatRegistry.evict(id);
+        courseStatistics.evict(id);
     }
     
     public boolean isCourseAvailable(Long courseId) {
         Optional<Course> courseOpt = courseRepository.findById(courseId);
         if (courseOpt.isPresent()) {
             Course course = courseOpt.get();
-            long currentEnrollments = enrollmentRepository.countActiveEnrollmentsByCourse(course);
+            long currentEnrollments = courseSeatRegistry.getHeldSeats(courseId);
             return currentEnrollments < course.getCapacity();
         }
         return false;
@@ -68,7 +84,7 @@ public class CourseService {
         Optional<Course> courseOpt = courseRepository.findById(courseId);
         if (courseOpt.isPresent()) {
             Course course = courseOpt.get();
-            long currentEnrollments = enrollmentRepository.countActiveEnrollmentsByCourse(course);
+            long currentEnrollments = courseSeatRegistry.getHeldSeats(courseId);
             return (int) (course.getCapacity() - currentEnrollments);
         }
         return 0;
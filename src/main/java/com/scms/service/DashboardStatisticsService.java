@@ -0,0 +1,103 @@
+package com.scms.service;
+
+import com.scms.entity.Enrollment;
+import com.scms.repository.CourseRepository;
+import com.scms.repository.EnrollmentRepository;
+import com.scms.repository.GradeRepository;
+import com.scms.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class DashboardStatisticsService {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Value("${scms.dashboard.stats-ttl-ms:5000}")
+    private long statsTtlMillis;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    public Map<String, Object> getDashboardStats() {
+        Snapshot current = snapshot;
+        if (current != null && !current.isExpired(statsTtlMillis)) {
+            return current.stats;
+        }
+
+        // Only one caller refreshes; the others keep serving the previous snapshot meanwhile
+        if (current != null && !refreshLock.tryLock()) {
+            return current.stats;
+        }
+        if (current == null) {
+            refreshLock.lock();
+        }
+        try {
+            current = snapshot;
+            if (current == null || current.isExpired(statsTtlMillis)) {
+                current = new Snapshot(loadStats(), System.currentTimeMillis());
+                snapshot = current;
+            }
+            return current.stats;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    private Map<String, Object> loadStats() {
+        Map<Enrollment.EnrollmentStatus, Long> enrollmentsByStatus = new EnumMap<>(Enrollment.EnrollmentStatus.class);
+        for (Enrollment.EnrollmentStatus status : Enrollment.EnrollmentStatus.values()) {
+            enrollmentsByStatus.put(status, 0L);
+        }
+        long totalEnrollments = 0;
+        for (Object[] row : enrollmentRepository.countEnrollmentsGroupedByStatus()) {
+            long count = (Long) row[1];
+            enrollmentsByStatus.put((Enrollment.EnrollmentStatus) row[0], count);
+            totalEnrollments += count;
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalStudents", studentRepository.count());
+        stats.put("totalCourses", courseRepository.count());
+        stats.put("totalEnrollments", totalEnrollments);
+        stats.put("totalGrades", gradeRepository.count());
+        stats.put("enrollmentsByStatus", Collections.unmodifiableMap(enrollmentsByStatus));
+        return Collections.unmodifiableMap(stats);
+    }
+
+    private static final class Snapshot {
+        private final Map<String, Object> stats;
+        private final long loadedAt;
+
+        private Snapshot(Map<String, Object> stats, long loadedAt) {
+            this.stats = stats;
+            this.loadedAt = loadedAt;
+        }
+
+        private boolean isExpired(long ttlMillis) {
+            return System.currentTimeMillis() - loadedAt > ttlMillis;
+        }
+    }
+}
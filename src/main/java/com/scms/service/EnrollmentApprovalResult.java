@@ -0,0 +1,49 @@
+package com.scms.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Per-enrollment outcomes of a batch approval, in the order the ids were processed
+public class EnrollmentApprovalResult {
+
+    public enum Status { APPROVED, NOT_FOUND, NOT_PENDING, FAILED }
+
+    private long approved;
+    private long skipped;
+    private final List<Outcome> outcomes = new ArrayList<>();
+
+    void record(Long enrollmentId, Status status, String message) {
+        if (status == Status.APPROVED) {
+            approved++;
+        } else {
+            skipped++;
+        }
+        outcomes.add(new Outcome(enrollmentId, status, message));
+    }
+
+    void merge(EnrollmentApprovalResult other) {
+        approved += other.approved;
+        skipped += other.skipped;
+        outcomes.addAll(other.outcomes);
+    }
+
+    public long getApproved() { return approved; }
+    public long getSkipped() { return skipped; }
+    public List<Outcome> getOutcomes() { return outcomes; }
+
+    public static final class Outcome {
+        private final Long id;
+        private final Status status;
+        private final String message;
+
+        Outcome(Long id, Status status, String message) {
+            this.id = id;
+            this.status = status;
+            this.message = message;
+        }
+
+        public Long getId() { return id; }
+        public Status getStatus() { return status; }
+        public String getMessage() { return message; }
+    }
+}
@@ -1,20 +1,38 @@
 package com.scms.service;
 
+import com.scms.cache.CourseSeatRegistry;
+import com.scms.dto.EnrollmentSummary;
 import com.scms.entity.Enrollment;
 import com.scms.entity.Student;
 import com.scms.entity.Course;
 import com.scms.entity.Administrator;
 import com.scms.entity.Notification;
+import com.scms.event.CourseStatisticsEvent;
+import com.scms.event.NotificationPushEvent;
 import com.scms.entity.AdminNotification;
 import com.scms.repository.EnrollmentRepository;
 import com.scms.repository.StudentRepository;
 import com.scms.repository.CourseRepository;
 import com.scms.repository.NotificationRepository;
+import com.scms.repository.NotificationBatchRepository;
+import com.scms.repository.AdminNotificationBatchRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -33,9 +51,27 @@ public class EnrollmentService {
     @Autowired
     private NotificationRepository notificationRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     @Autowired
     private AdminNotificationService adminNotificationService;
     
+    @Autowired
+    private CourseSeatRegistry courseSeatRegistry;
+    
+    @Autowired
+    private NotificationBatchRepository notificationBatchRepository;
+    
+    @Autowired
+    private AdminNotificationBatchRepository adminNotificationBatchRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Value("${scms.enrollments.approve-batch.chunk-size:500}")
+    private int approvalChunkSize;
+    
     public Enrollment enrollStudent(Long studentId, Long courseId) {
         Optional<Student> studentOpt = studentRepository.findById(studentId);
         Optional<Course> courseOpt = courseRepository.findById(courseId);
@@ -47,17 +83,19 @@ public class EnrollmentService {
         Student student = studentOpt.get();
         Course course = courseOpt.get();
         
-        if (!course.hasAvailableSeats()) {
-            throw new RuntimeException("Course is full");
-        }
-        
         Optional<Enrollment> existingEnrollment = enrollmentRepository.findByStudentAndCourse(student, course);
         if (existingEnrollment.isPresent()) {
             throw new RuntimeException("Student is already enrolled in this course");
         }
         
+        // Seat is handed back automatically if this transaction rolls back
+        if (!courseSeatRegistry.tryReserve(course.getId(), course.getCapacity())) {
+            throw new RuntimeException("Course is full");
+        }
+        
         Enrollment enrollment = new Enrollment(student, course);
         enrollment = enrollmentRepository.save(enrollment);
+        eventPublisher.publishEvent(CourseStatisticsEvent.enrollment(course.getId(), null, enrollment.getStatus()));
         
         // Send notification to student
         Notification studentNotification = new Notification(
@@ -66,6 +104,7 @@ public class EnrollmentService {
             Notification.NotificationType.ENROLLMENT
         );
         notificationRepository.save(studentNotification);
+        eventPublisher.publishEvent(NotificationPushEvent.forStudent(studentNotification));
         
         // Send notification to all admins about pending enrollment request
         adminNotificationService.notifyPendingEnrollmentRequest(enrollment);
@@ -98,8 +137,11 @@ public class EnrollmentService {
         }
         
         // Set status to WITHDRAWN
+        Enrollment.EnrollmentStatus previousStatus = enrollment.getStatus();
         enrollment.setStatus(Enrollment.EnrollmentStatus.WITHDRAWN);
         enrollmentRepository.save(enrollment);
+        courseSeatRegistry.release(course.getId());
+        eventPublisher.publishEvent(CourseStatisticsEvent.enrollment(course.getId(), previousStatus, Enrollment.EnrollmentStatus.WITHDRAWN));
         
         // Send notification to student
         Notification studentNotification = new Notification(
@@ -108,6 +150,7 @@ public class EnrollmentService {
             Notification.NotificationType.WITHDRAWAL
         );
         notificationRepository.save(studentNotification);
+        eventPublisher.publishEvent(NotificationPushEvent.forStudent(studentNotification));
         
         // Send notification to all admins about withdrawal
         adminNotificationService.notifyWithdrawalRequest(enrollment);
@@ -116,7 +159,7 @@ public class EnrollmentService {
     public List<Enrollment> getStudentEnrollments(Long studentId) {
         Optional<Student> studentOpt = studentRepository.findById(studentId);
         if (studentOpt.isPresent()) {
-            return enrollmentRepository.findByStudent(studentOpt.get());
+            return enrollmentRepository.findByStudentWithCourse(studentOpt.get());
         }
         return List.of();
     }
@@ -146,7 +189,50 @@ public class EnrollmentService {
     }
     
     public List<Enrollment> getAllEnrollments() {
-        return enrollmentRepository.findAll();
+        return enrollmentRepository.findAllWithStudentAndCourse();
+    }
+    
+    public List<EnrollmentSummary> getEnrollmentsAfter(Long afterId, int limit) {
+        return enrollmentRepository.findSummariesAfter(afterId, PageRequest.of(0, limit));
+    }
+    
+    public List<EnrollmentSummary> getStudentEnrollmentsAfter(Long studentId, Long afterId, int limit) {
+        return enrollmentRepository.findSummariesByStudentIdAfter(studentId, afterId, PageRequest.of(0, limit));
+    }
+    
+    public List<EnrollmentSummary> getActiveStudentEnrollmentsAfter(Long studentId, Long afterId, int limit) {
+        return enrollmentRepository.findSummariesByStudentIdAndStatusAfter(
+            studentId, Enrollment.EnrollmentStatus.ACTIVE, afterId, PageRequest.of(0, limit));
+    }
+    
+    public List<EnrollmentSummary> getCourseEnrollmentsAfter(Long courseId, Long afterId, int limit) {
+        return enrollmentRepository.findSummariesByCourseIdAfter(courseId, afterId, PageRequest.of(0, limit));
+    }
+    
+    public List<EnrollmentSummary> getActiveCourseEnrollmentsAfter(Long courseId, Long afterId, int limit) {
+        return enrollmentRepository.findSummariesByCourseIdAndStatusAfter(
+            courseId, Enrollment.EnrollmentStatus.ACTIVE, afterId, PageRequest.of(0, limit));
+    }
+    
+    public long countEnrollments() {
+        return enrollmentRepository.count();
+    }
+    
+    public long countStudentsWithEnrollments() {
+        return enrollmentRepository.countStudentsWithEnrollments();
+    }
+    
+    public Map<Long, Integer> countEnrollmentsByStudent(Collection<Long> studentIds) {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Long studentId : studentIds) {
+            counts.put(studentId, 0);
+        }
+        if (!studentIds.isEmpty()) {
+            for (Object[] row : enrollmentRepository.countEnrollmentsByStudentIds(studentIds)) {
+                counts.put((Long) row[0], ((Long) row[1]).intValue());
+            }
+        }
+        return counts;
     }
     
     public Enrollment getEnrollmentById(Long enrollmentId) {
@@ -174,8 +260,11 @@ public class EnrollmentService {
         Enrollment enrollment = enrollmentOpt.get();
         try {
             Enrollment.EnrollmentStatus enrollmentStatus = Enrollment.EnrollmentStatus.valueOf(status.toUpperCase());
+            Enrollment.EnrollmentStatus previousStatus = enrollment.getStatus();
             enrollment.setStatus(enrollmentStatus);
             enrollmentRepository.save(enrollment);
+            updateSeatHold(enrollment.getCourse().getId(), previousStatus, enrollmentStatus);
+            eventPublisher.publishEvent(CourseStatisticsEvent.enrollment(enrollment.getCourse().getId(), previousStatus, enrollmentStatus));
             
             // Send notification to student about status change
             String message;
@@ -193,6 +282,7 @@ public class EnrollmentService {
                 Notification.NotificationType.ENROLLMENT
             );
             notificationRepository.save(notification);
+            eventPublisher.publishEvent(NotificationPushEvent.forStudent(notification));
             
             // Send notification to admin about their action
             if (enrollmentStatus == Enrollment.EnrollmentStatus.ACTIVE) {
@@ -209,6 +299,103 @@ public class EnrollmentService {
         updateEnrollmentStatus(enrollmentId, "ACTIVE", admin);
     }
     
+    // Each chunk of approvalChunkSize ids is approved in its own transaction
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public EnrollmentApprovalResult approveEnrollments(List<Long> enrollmentIds, Administrator admin) {
+        EnrollmentApprovalResult result = new EnrollmentApprovalResult();
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(enrollmentIds));
+        for (int from = 0; from < distinctIds.size(); from += approvalChunkSize) {
+            approveChunk(distinctIds.subList(from, Math.min(from + approvalChunkSize, distinctIds.size())), admin, result);
+        }
+        return result;
+    }
+    
+    // Approves every pending enrollment, optionally only for one course; ids left pending
+    // (changed concurrently) are skipped by the cursor rather than revisited
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public EnrollmentApprovalResult approvePendingEnrollments(Long courseId, Administrator admin) {
+        EnrollmentApprovalResult result = new EnrollmentApprovalResult();
+        Long afterId = 0L;
+        while (true) {
+            List<Long> ids = enrollmentRepository.findPendingIdsAfter(courseId, afterId, PageRequest.of(0, approvalChunkSize));
+            if (ids.isEmpty()) {
+                return result;
+            }
+            approveChunk(ids, admin, result);
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+    
+    private void approveChunk(List<Long> ids, Administrator admin, EnrollmentApprovalResult result) {
+        try {
+            result.merge(transactionTemplate.execute(status -> writeApprovals(ids, admin)));
+        } catch (RuntimeException e) {
+            for (Long id : ids) {
+                result.record(id, EnrollmentApprovalResult.Status.FAILED, e.getMessage());
+            }
+        }
+    }
+    
+    private EnrollmentApprovalResult writeApprovals(List<Long> ids, Administrator admin) {
+        EnrollmentApprovalResult chunkResult = new EnrollmentApprovalResult();
+        Map<Long, Enrollment> enrollments = new HashMap<>();
+        for (Enrollment enrollment : enrollmentRepository.findWithStudentAndCourseByIdIn(ids)) {
+            enrollments.put(enrollment.getId(), enrollment);
+        }
+        
+        List<Long> approvedIds = new ArrayList<>();
+        List<Long> approvedCourseIds = new ArrayList<>();
+        List<NotificationBatchRepository.Row> studentNotifications = new ArrayList<>();
+        Map<Long, String> adminMessages = new LinkedHashMap<>();
+        for (Long id : ids) {
+            Enrollment enrollment = enrollments.get(id);
+            if (enrollment == null) {
+                chunkResult.record(id, EnrollmentApprovalResult.Status.NOT_FOUND, "Enrollment not found");
+                continue;
+            }
+            if (enrollment.getStatus() != Enrollment.EnrollmentStatus.PENDING) {
+                chunkResult.record(id, EnrollmentApprovalResult.Status.NOT_PENDING, "Enrollment is " + enrollment.getStatus());
+                continue;
+            }
+            // A pending enrollment took its seat when it was requested, so approving it needs no capacity check
+            Course course = enrollment.getCourse();
+            approvedIds.add(id);
+            approvedCourseIds.add(course.getId());
+            chunkResult.record(id, EnrollmentApprovalResult.Status.APPROVED, null);
+            studentNotifications.add(new NotificationBatchRepository.Row(enrollment.getStudent().getId(),
+                "Your enrollment in " + course.getTitle() + " has been approved!"));
+            adminMessages.put(id, String.format("Enrollment approved for %s in course: %s",
+                enrollment.getStudent().getName(), course.getTitle()));
+        }
+        if (approvedIds.isEmpty()) {
+            return chunkResult;
+        }
+        
+        int updated = enrollmentRepository.updateStatus(approvedIds,
+            Enrollment.EnrollmentStatus.PENDING, Enrollment.EnrollmentStatus.ACTIVE);
+        if (updated != approvedIds.size()) {
+            // Someone else changed one of these enrollments since they were read
+            throw new RuntimeException("Enrollments changed during approval, please retry");
+        }
+        
+        eventPublisher.publishEvent(CourseStatisticsEvent.enrollments(approvedCourseIds,
+            Enrollment.EnrollmentStatus.PENDING, Enrollment.EnrollmentStatus.ACTIVE));
+        
+        LocalDateTime now = LocalDateTime.now();
+        notificationBatchRepository.insert(studentNotifications, Notification.NotificationType.ENROLLMENT, now);
+        adminNotificationBatchRepository.insertForAdmin(admin.getId(), adminMessages,
+            AdminNotification.AdminNotificationType.ENROLLMENT_APPROVED, "ENROLLMENT", now);
+        eventPublisher.publishEvent(NotificationPushEvent.forStudents(studentNotifications, Notification.NotificationType.ENROLLMENT));
+        List<NotificationPushEvent.Delivery> adminPushes = new ArrayList<>(adminMessages.size());
+        for (String message : adminMessages.values()) {
+            adminPushes.add(NotificationPushEvent.Delivery.notification(admin.getId(), message,
+                AdminNotification.AdminNotificationType.ENROLLMENT_APPROVED.name()));
+        }
+        eventPublisher.publishEvent(new NotificationPushEvent(NotificationPushEvent.Audience.ADMIN,
+            NotificationPushEvent.NOTIFICATION, adminPushes));
+        return chunkResult;
+    }
+    
     public void rejectEnrollment(Long enrollmentId, Administrator admin) {
         updateEnrollmentStatus(enrollmentId, "WITHDRAWN", admin);
     }
@@ -216,4 +403,19 @@ public class EnrollmentService {
     public List<Enrollment> getPendingEnrollments() {
         return enrollmentRepository.findByStatus(Enrollment.EnrollmentStatus.PENDING);
     }
+    
+    public List<Enrollment> getPendingEnrollmentsAfter(Long afterId, int limit) {
+        return enrollmentRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+            Enrollment.EnrollmentStatus.PENDING, afterId, PageRequest.of(0, limit));
+    }
+    
+    private void updateSeatHold(Long courseId, Enrollment.EnrollmentStatus from, Enrollment.EnrollmentStatus to) {
+        boolean heldBefore = CourseSeatRegistry.holdsSeat(from);
+        boolean heldAfter = CourseSeatRegistry.holdsSeat(to);
+        if (heldBefore && !heldAfter) {
+            courseSeatRegistry.release(courseId);
+        } else if (!heldBefore && heldAfter) {
+            courseSeatRegistry.forceReserve(courseId);
+        }
+    }
 }
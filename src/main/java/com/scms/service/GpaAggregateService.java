@@ -0,0 +1,252 @@
+package com.scms.service;
+
+import com.scms.entity.StudentGpaAggregate;
+import com.scms.repository.GradeRepository;
+import com.scms.repository.StudentGpaAggregateRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Service
+@Transactional
+public class GpaAggregateService {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final String INSERT_AGGREGATE =
+        "INSERT INTO student_gpa_aggregates (student_id, grade_point_tenths, score_sum, grade_count) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private StudentGpaAggregateRepository aggregateRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Called in the grade write's transaction; a null score means "no grade"
+    public void recordChange(Long studentId, BigDecimal previousScore, BigDecimal newScore) {
+        Totals delta = new Totals();
+        delta.change(previousScore, newScore);
+
+        if (aggregateRepository.applyDelta(studentId, delta.pointTenths, delta.scoreSum, delta.count) == 0
+                // First grade for this student (or aggregates not built yet)
+                && !insertFromGrades(List.of(studentId)).isEmpty()) {
+            // A concurrent first grade inserted the row; its totals do not include this change
+            aggregateRepository.applyDelta(studentId, delta.pointTenths, delta.scoreSum, delta.count);
+        }
+    }
+
+    // Batch form of recordChange for bulk writes: deltas are summed per student and applied in one JDBC batch
+    public void recordChanges(List<ScoreChange> changes) {
+        Map<Long, Totals> deltas = new LinkedHashMap<>();
+        for (ScoreChange change : changes) {
+            deltas.computeIfAbsent(change.studentId, id -> new Totals()).change(change.previousScore, change.newScore);
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Set<Long> missing = new HashSet<>(deltas.keySet());
+        missing.removeAll(aggregateRepository.findExistingStudentIds(deltas.keySet()));
+
+        List<Object[]> updates = new ArrayList<>(deltas.size() - missing.size());
+        for (Map.Entry<Long, Totals> entry : deltas.entrySet()) {
+            if (!missing.contains(entry.getKey())) {
+                Totals delta = entry.getValue();
+                updates.add(new Object[] {delta.pointTenths, delta.scoreSum, delta.count, entry.getKey()});
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "UPDATE student_gpa_aggregates SET grade_point_tenths = grade_point_tenths + ?, " +
+                "score_sum = score_sum + ?, grade_count = grade_count + ? WHERE student_id = ?",
+                updates);
+        }
+        for (Long studentId : insertFromGrades(missing)) {
+            Totals delta = deltas.get(studentId);
+            aggregateRepository.applyDelta(studentId, delta.pointTenths, delta.scoreSum, delta.count);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal getGpa(Long studentId) {
+        return aggregateRepository.findById(studentId)
+            .map(aggregate -> GradeScale.toGpa(aggregate.getGradePointTenths(), aggregate.getGradeCount()))
+            .orElse(BigDecimal.ZERO);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, BigDecimal> getGpas(Collection<Long> studentIds) {
+        Map<Long, BigDecimal> gpas = new HashMap<>();
+        for (Long studentId : studentIds) {
+            gpas.put(studentId, BigDecimal.ZERO);
+        }
+        for (StudentGpaAggregate aggregate : aggregateRepository.findAllById(studentIds)) {
+            gpas.put(aggregate.getStudentId(), GradeScale.toGpa(aggregate.getGradePointTenths(), aggregate.getGradeCount()));
+        }
+        return gpas;
+    }
+
+    // Average over students that have a non-zero GPA
+    @Transactional(readOnly = true)
+    public BigDecimal getAverageGpa() {
+        BigDecimal totalGPA = BigDecimal.ZERO;
+        int studentsWithGrades = 0;
+        try (Stream<Object[]> rows = aggregateRepository.streamGradePointTotals()) {
+            for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                BigDecimal gpa = GradeScale.toGpa((Long) row[0], (Long) row[1]);
+                if (gpa.signum() > 0) {
+                    totalGPA = totalGPA.add(gpa);
+                    studentsWithGrades++;
+                }
+            }
+        }
+        return studentsWithGrades > 0
+            ? totalGPA.divide(BigDecimal.valueOf(studentsWithGrades), 2, RoundingMode.HALF_UP)
+            : BigDecimal.ZERO;
+    }
+
+    public List<Long> findStudentsGradedInCourse(Long courseId) {
+        return gradeRepository.findStudentIdsByCourseId(courseId);
+    }
+
+    public void rebuildStudents(Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        Map<Long, Totals> totals = sumScores(studentIds);
+        Set<Long> missing = new HashSet<>(studentIds);
+        for (StudentGpaAggregate aggregate : aggregateRepository.findAllById(studentIds)) {
+            Totals total = totals.getOrDefault(aggregate.getStudentId(), new Totals());
+            aggregate.setGradePointTenths(total.pointTenths);
+            aggregate.setScoreSum(total.scoreSum);
+            aggregate.setGradeCount(total.count);
+            aggregateRepository.save(aggregate);
+            missing.remove(aggregate.getStudentId());
+        }
+        for (Long studentId : missing) {
+            insertAggregate(studentId, totals.getOrDefault(studentId, new Totals()));
+        }
+    }
+
+    // Recomputes every aggregate from the grades table in a single pass; returns the number of students
+    public int rebuildAll() {
+        Map<Long, Totals> totals = new HashMap<>();
+        try (Stream<Object[]> rows = gradeRepository.streamAllScores()) {
+            rows.forEach(row -> totals.computeIfAbsent((Long) row[0], id -> new Totals()).add((BigDecimal) row[1]));
+        }
+
+        aggregateRepository.deleteAllInBatch();
+
+        List<Object[]> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+        for (Map.Entry<Long, Totals> entry : totals.entrySet()) {
+            Totals total = entry.getValue();
+            batch.add(new Object[] {entry.getKey(), total.pointTenths, total.scoreSum, total.count});
+            if (batch.size() == REBUILD_BATCH_SIZE) {
+                insertAggregates(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertAggregates(batch);
+        }
+        return totals.size();
+    }
+
+    public void deleteForStudent(Long studentId) {
+        aggregateRepository.findById(studentId).ifPresent(aggregateRepository::delete);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isEmpty() {
+        return aggregateRepository.count() == 0;
+    }
+
+    // Inserts the aggregates of students that have none from their grades. Returns the students whose
+    // row a concurrent transaction inserted first; those rows lack this transaction's changes.
+    private List<Long> insertFromGrades(Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Totals> totals = sumScores(studentIds);
+        List<Long> raced = new ArrayList<>();
+        for (Long studentId : studentIds) {
+            if (!insertAggregate(studentId, totals.getOrDefault(studentId, new Totals()))) {
+                raced.add(studentId);
+            }
+        }
+        return raced;
+    }
+
+    // Plain JDBC so a duplicate key fails only this statement, not the surrounding transaction
+    private boolean insertAggregate(Long studentId, Totals total) {
+        try {
+            jdbcTemplate.update(INSERT_AGGREGATE, studentId, total.pointTenths, total.scoreSum, total.count);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private Map<Long, Totals> sumScores(Collection<Long> studentIds) {
+        Map<Long, Totals> totals = new HashMap<>();
+        for (Object[] row : gradeRepository.findScoresByStudentIds(studentIds)) {
+            totals.computeIfAbsent((Long) row[0], id -> new Totals()).add((BigDecimal) row[1]);
+        }
+        return totals;
+    }
+
+    private void insertAggregates(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate(INSERT_AGGREGATE, rows);
+    }
+
+    private static final class Totals {
+        private long pointTenths;
+        private BigDecimal scoreSum = BigDecimal.ZERO;
+        private long count;
+
+        private void add(BigDecimal score) {
+            pointTenths += GradeScale.toGradePointTenths(score);
+            scoreSum = scoreSum.add(score);
+            count++;
+        }
+
+        private void change(BigDecimal previousScore, BigDecimal newScore) {
+            if (previousScore != null) {
+                pointTenths -= GradeScale.toGradePointTenths(previousScore);
+                scoreSum = scoreSum.subtract(previousScore);
+                count--;
+            }
+            if (newScore != null) {
+                add(newScore);
+            }
+        }
+    }
+
+    public static final class ScoreChange {
+        private final Long studentId;
+        private final BigDecimal previousScore;
+        private final BigDecimal newScore;
+
+        public ScoreChange(Long studentId, BigDecimal previousScore, BigDecimal newScore) {
+            this.studentId = studentId;
+            this.previousScore = previousScore;
+            this.newScore = newScore;
+        }
+    }
+}
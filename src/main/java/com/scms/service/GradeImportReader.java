@@ -0,0 +1,172 @@
+package com.scms.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Reads grade import rows one line at a time so uploads of any size are parsed in constant memory.
+// CSV needs a header with studentId, courseId and score (comments optional); NDJSON uses the same field names.
+public class GradeImportReader {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final BufferedReader reader;
+    private final Format format;
+    private Map<String, Integer> csvColumns;
+    private long lineNumber;
+
+    public GradeImportReader(Reader reader, Format format) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.format = format;
+    }
+
+    // Returns null at end of input; malformed lines come back as rows carrying an error
+    public Row next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && csvColumns == null) {
+                csvColumns = readHeader(line);
+                continue;
+            }
+            return format == Format.CSV ? parseCsv(line) : parseJson(line);
+        }
+        return null;
+    }
+
+    private Map<String, Integer> readHeader(String line) {
+        List<String> names = splitCsv(line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("studentid") || !columns.containsKey("courseid") || !columns.containsKey("score")) {
+            throw new RuntimeException("CSV header must contain studentId, courseId and score");
+        }
+        return columns;
+    }
+
+    private Row parseCsv(String line) {
+        List<String> values = splitCsv(line);
+        try {
+            return new Row(lineNumber,
+                Long.valueOf(column(values, "studentid")),
+                Long.valueOf(column(values, "courseid")),
+                new BigDecimal(column(values, "score")),
+                emptyToNull(column(values, "comments")));
+        } catch (NumberFormatException e) {
+            return Row.invalid(lineNumber, "Invalid number in row");
+        } catch (IllegalArgumentException e) {
+            return Row.invalid(lineNumber, e.getMessage());
+        }
+    }
+
+    private String column(List<String> values, String name) {
+        Integer index = csvColumns.get(name);
+        if (index == null || index >= values.size() || values.get(index).isBlank()) {
+            if (name.equals("comments")) {
+                return null;
+            }
+            throw new IllegalArgumentException("Missing value for " + name);
+        }
+        return values.get(index).trim();
+    }
+
+    private Row parseJson(String line) {
+        try {
+            JsonNode node = OBJECT_MAPPER.readTree(line);
+            JsonNode studentId = node.get("studentId");
+            JsonNode courseId = node.get("courseId");
+            JsonNode score = node.get("score");
+            if (studentId == null || courseId == null || score == null
+                    || !studentId.canConvertToLong() || !courseId.canConvertToLong() || !score.isNumber()) {
+                return Row.invalid(lineNumber, "studentId, courseId and score are required numbers");
+            }
+            JsonNode comments = node.get("comments");
+            return new Row(lineNumber, studentId.asLong(), courseId.asLong(), score.decimalValue(),
+                comments == null || comments.isNull() ? null : emptyToNull(comments.asText()));
+        } catch (IOException e) {
+            return Row.invalid(lineNumber, "Invalid JSON");
+        }
+    }
+
+    // RFC 4180 style: fields may be quoted, "" inside quotes is a literal quote
+    static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    public static final class Row {
+        private final long lineNumber;
+        private final Long studentId;
+        private final Long courseId;
+        private final BigDecimal score;
+        private final String comments;
+        private final String error;
+
+        Row(long lineNumber, Long studentId, Long courseId, BigDecimal score, String comments) {
+            this(lineNumber, studentId, courseId, score, comments, null);
+        }
+
+        private Row(long lineNumber, Long studentId, Long courseId, BigDecimal score, String comments, String error) {
+            this.lineNumber = lineNumber;
+            this.studentId = studentId;
+            this.courseId = courseId;
+            this.score = score;
+            this.comments = comments;
+            this.error = error;
+        }
+
+        static Row invalid(long lineNumber, String error) {
+            return new Row(lineNumber, null, null, null, null, error);
+        }
+
+        public long getLineNumber() { return lineNumber; }
+        public Long getStudentId() { return studentId; }
+        public Long getCourseId() { return courseId; }
+        public BigDecimal getScore() { return score; }
+        public String getComments() { return comments; }
+        public String getError() { return error; }
+    }
+}
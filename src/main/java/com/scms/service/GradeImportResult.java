@@ -0,0 +1,76 @@
+package com.scms.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of a bulk grade import; only the first MAX_REPORTED_ERRORS row errors are kept
+public class GradeImportResult {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long processed;
+    private long inserted;
+    private long updated;
+    // Rows replaced by a later row for the same student and course; nothing is written for them
+    private long superseded;
+    private long failed;
+    private final List<RowError> errors = new ArrayList<>();
+
+    void rowInserted() {
+        processed++;
+        inserted++;
+    }
+
+    void rowUpdated() {
+        processed++;
+        updated++;
+    }
+
+    void rowSuperseded() {
+        processed++;
+        superseded++;
+    }
+
+    void rowFailed(long lineNumber, String message) {
+        processed++;
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(lineNumber, message));
+        }
+    }
+
+    void merge(GradeImportResult other) {
+        processed += other.processed;
+        inserted += other.inserted;
+        updated += other.updated;
+        superseded += other.superseded;
+        failed += other.failed;
+        for (RowError error : other.errors) {
+            if (errors.size() >= MAX_REPORTED_ERRORS) {
+                break;
+            }
+            errors.add(error);
+        }
+    }
+
+    public long getProcessed() { return processed; }
+    public long getInserted() { return inserted; }
+    public long getUpdated() { return updated; }
+    public long getSuperseded() { return superseded; }
+    public long getFailed() { return failed; }
+    public List<RowError> getErrors() { return errors; }
+    public boolean isErrorsTruncated() { return failed > errors.size(); }
+
+    public static final class RowError {
+        private final long line;
+        private final String message;
+
+        RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() { return line; }
+        public String getMessage() { return message; }
+    }
+}
@@ -0,0 +1,35 @@
+package com.scms.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Percentage to 4.0 scale conversion. Grade points are kept in tenths so that sums
+// can be accumulated as plain longs and still round exactly like the BigDecimal math.
+public final class GradeScale {
+
+    private static final BigDecimal[] THRESHOLDS = {
+        new BigDecimal("93"), new BigDecimal("90"), new BigDecimal("87"), new BigDecimal("83"),
+        new BigDecimal("80"), new BigDecimal("77"), new BigDecimal("73"), new BigDecimal("70"),
+        new BigDecimal("67"), new BigDecimal("63"), new BigDecimal("60")
+    };
+
+    private static final int[] POINT_TENTHS = {40, 37, 33, 30, 27, 23, 20, 17, 13, 10, 7};
+
+    private GradeScale() {}
+
+    public static int toGradePointTenths(BigDecimal score) {
+        for (int i = 0; i < THRESHOLDS.length; i++) {
+            if (score.compareTo(THRESHOLDS[i]) >= 0) {
+                return POINT_TENTHS[i];
+            }
+        }
+        return 0;
+    }
+
+    public static BigDecimal toGpa(long pointTenthsSum, long gradeCount) {
+        if (gradeCount <= 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(pointTenthsSum).divide(BigDecimal.valueOf(gradeCount * 10), 2, RoundingMode.HALF_UP);
+    }
+}
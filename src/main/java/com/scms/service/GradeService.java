@@ -1,20 +1,40 @@
 package com.scms.service;
 
+import com.scms.cache.CourseStatisticsStore;
+import com.scms.dto.GradeSummary;
 import com.scms.entity.Grade;
 import com.scms.entity.Student;
 import com.scms.entity.Course;
 import com.scms.entity.Notification;
+import com.scms.event.CourseStatisticsEvent;
+import com.scms.event.NotificationPushEvent;
 import com.scms.repository.GradeRepository;
 import com.scms.repository.StudentRepository;
 import com.scms.repository.CourseRepository;
 import com.scms.repository.NotificationRepository;
+import com.scms.repository.GradeImportBatchRepository;
+import com.scms.repository.NotificationBatchRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -32,6 +52,27 @@ public class GradeService {
     @Autowired
     private NotificationRepository notificationRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private GpaAggregateService gpaAggregateService;
+    
+    @Autowired
+    private GradeImportBatchRepository gradeImportBatchRepository;
+    
+    @Autowired
+    private NotificationBatchRepository notificationBatchRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private CourseStatisticsStore courseStatistics;
+    
+    @Value("${scms.grades.import.chunk-size:1000}")
+    private int importChunkSize;
+    
     public Grade recordGrade(Long studentId, Long courseId, BigDecimal score, String comments) {
         Optional<Student> studentOpt = studentRepository.findById(studentId);
         Optional<Course> courseOpt = courseRepository.findById(courseId);
@@ -49,9 +90,11 @@ public class GradeService {
         
         Optional<Grade> existingGrade = gradeRepository.findByStudentAndCourse(student, course);
         Grade grade;
+        BigDecimal previousScore = null;
         
         if (existingGrade.isPresent()) {
             grade = existingGrade.get();
+            previousScore = grade.getScore();
             grade.setScore(score);
             grade.setComments(comments);
         } else {
@@ -60,6 +103,8 @@ public class GradeService {
         }
         
         grade = gradeRepository.save(grade);
+        gpaAggregateService.recordChange(student.getId(), previousScore, score);
+        eventPublisher.publishEvent(CourseStatisticsEvent.grade(course.getId(), previousScore, score));
         
         Notification notification = new Notification(
             "Grade updated for " + course.getTitle() + ": " + score + "% (" + grade.getLetterGrade() + ")",
@@ -67,10 +112,123 @@ public class GradeService {
             Notification.NotificationType.GRADE_UPDATE
         );
         notificationRepository.save(notification);
+        eventPublisher.publishEvent(NotificationPushEvent.forStudent(notification));
         
         return grade;
     }
     
+    // Streams the upload in chunks of importChunkSize rows, each committed in its own transaction.
+    // A chunk that fails in the database is rolled back and all of its rows are reported as failed.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public GradeImportResult importGrades(Reader input, GradeImportReader.Format format) {
+        GradeImportReader reader = new GradeImportReader(input, format);
+        GradeImportResult result = new GradeImportResult();
+        List<GradeImportReader.Row> chunk = new ArrayList<>(importChunkSize);
+        try {
+            GradeImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                if (row.getError() != null) {
+                    result.rowFailed(row.getLineNumber(), row.getError());
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == importChunkSize) {
+                    importChunk(chunk, result);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read grade import: " + e.getMessage(), e);
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, result);
+        }
+        return result;
+    }
+    
+    private void importChunk(List<GradeImportReader.Row> rows, GradeImportResult result) {
+        try {
+            result.merge(transactionTemplate.execute(status -> writeChunk(rows)));
+        } catch (RuntimeException e) {
+            for (GradeImportReader.Row row : rows) {
+                result.rowFailed(row.getLineNumber(), "Not imported, chunk rolled back: " + e.getMessage());
+            }
+        }
+    }
+    
+    private GradeImportResult writeChunk(List<GradeImportReader.Row> rows) {
+        GradeImportResult chunkResult = new GradeImportResult();
+        Set<Long> studentIds = new HashSet<>();
+        Set<Long> courseIds = new HashSet<>();
+        for (GradeImportReader.Row row : rows) {
+            studentIds.add(row.getStudentId());
+            courseIds.add(row.getCourseId());
+        }
+        Set<Long> knownStudents = new HashSet<>(studentRepository.findExistingIds(studentIds));
+        Map<Long, String> courseTitles = new HashMap<>();
+        for (Object[] course : courseRepository.findTitlesByIds(courseIds)) {
+            courseTitles.put((Long) course[0], (String) course[1]);
+        }
+        
+        // Later rows for the same student and course win
+        Map<List<Long>, GradeImportReader.Row> latest = new LinkedHashMap<>();
+        for (GradeImportReader.Row row : rows) {
+            if (row.getScore().compareTo(BigDecimal.ZERO) < 0 || row.getScore().compareTo(BigDecimal.valueOf(100)) > 0) {
+                chunkResult.rowFailed(row.getLineNumber(), "Grade must be between 0 and 100");
+            } else if (!knownStudents.contains(row.getStudentId()) || !courseTitles.containsKey(row.getCourseId())) {
+                chunkResult.rowFailed(row.getLineNumber(), "Student or course not found");
+            } else if (latest.put(List.of(row.getStudentId(), row.getCourseId()), row) != null) {
+                chunkResult.rowSuperseded();
+            }
+        }
+        if (latest.isEmpty()) {
+            return chunkResult;
+        }
+        
+        Map<List<Long>, Object[]> existing = new HashMap<>();
+        for (Object[] grade : gradeRepository.findScoresForStudentsAndCourses(studentIds, courseIds)) {
+            existing.put(List.of((Long) grade[1], (Long) grade[2]), grade);
+        }
+        
+        List<GradeImportBatchRepository.GradeRow> inserts = new ArrayList<>();
+        List<GradeImportBatchRepository.GradeRow> updates = new ArrayList<>();
+        List<NotificationBatchRepository.Row> notifications = new ArrayList<>(latest.size());
+        List<GpaAggregateService.ScoreChange> scoreChanges = new ArrayList<>(latest.size());
+        List<CourseStatisticsEvent.GradeChange> gradeChanges = new ArrayList<>(latest.size());
+        for (Map.Entry<List<Long>, GradeImportReader.Row> entry : latest.entrySet()) {
+            GradeImportReader.Row row = entry.getValue();
+            Object[] current = existing.get(entry.getKey());
+            notifications.add(new NotificationBatchRepository.Row(row.getStudentId(), "Grade updated for " + courseTitles.get(row.getCourseId()) + ": " + row.getScore()
+                + "% (" + Grade.letterGradeFor(row.getScore()) + ")"));
+            GradeImportBatchRepository.GradeRow gradeRow = new GradeImportBatchRepository.GradeRow(
+                current != null ? (Long) current[0] : null,
+                row.getStudentId(), row.getCourseId(), row.getScore(), row.getComments());
+            if (current != null) {
+                updates.add(gradeRow);
+                chunkResult.rowUpdated();
+            } else {
+                inserts.add(gradeRow);
+                chunkResult.rowInserted();
+            }
+            BigDecimal previousScore = current != null ? (BigDecimal) current[3] : null;
+            scoreChanges.add(new GpaAggregateService.ScoreChange(row.getStudentId(), previousScore, row.getScore()));
+            gradeChanges.add(new CourseStatisticsEvent.GradeChange(row.getCourseId(), previousScore, row.getScore()));
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        if (!updates.isEmpty()) {
+            gradeImportBatchRepository.updateGrades(updates);
+        }
+        if (!inserts.isEmpty()) {
+            gradeImportBatchRepository.insertGrades(inserts, now);
+        }
+        notificationBatchRepository.insert(notifications, Notification.NotificationType.GRADE_UPDATE, now);
+        eventPublisher.publishEvent(NotificationPushEvent.forStudents(notifications, Notification.NotificationType.GRADE_UPDATE));
+        gpaAggregateService.recordChanges(scoreChanges);
+        eventPublisher.publishEvent(CourseStatisticsEvent.grades(gradeChanges));
+        return chunkResult;
+    }
+    
     public Grade updateGrade(Long gradeId, BigDecimal score, String comments) {
         Optional<Grade> gradeOpt = gradeRepository.findById(gradeId);
         if (gradeOpt.isEmpty()) {
@@ -78,10 +236,13 @@ public class GradeService {
         }
         
         Grade grade = gradeOpt.get();
+        BigDecimal previousScore = grade.getScore();
         grade.setScore(score);
         grade.setComments(comments);
         
         grade = gradeRepository.save(grade);
+        gpaAggregateService.recordChange(grade.getStudent().getId(), previousScore, score);
+        eventPublisher.publishEvent(CourseStatisticsEvent.grade(grade.getCourse().getId(), previousScore, score));
         
         Notification notification = new Notification(
             "Grade updated for " + grade.getCourse().getTitle() + ": " + score + "% (" + grade.getLetterGrade() + ")",
@@ -89,6 +250,7 @@ public class GradeService {
             Notification.NotificationType.GRADE_UPDATE
         );
         notificationRepository.save(notification);
+        eventPublisher.publishEvent(NotificationPushEvent.forStudent(notification));
         
         return grade;
     }
@@ -96,7 +258,7 @@ public class GradeService {
     public List<Grade> getStudentGrades(Long studentId) {
         Optional<Student> studentOpt = studentRepository.findById(studentId);
         if (studentOpt.isPresent()) {
-            return gradeRepository.findByStudent(studentOpt.get());
+            return gradeRepository.findByStudentWithCourse(studentOpt.get());
         }
         return List.of();
     }
@@ -109,31 +271,41 @@ public class GradeService {
         return List.of();
     }
     
-    public Optional<Grade> getGrade(Long studentId, Long courseId) {
-        Optional<Student> studentOpt = studentRepository.findById(studentId);
-        Optional<Course> courseOpt = courseRepository.findById(courseId);
-        
-        if (studentOpt.isPresent() && courseOpt.isPresent()) {
-            return gradeRepository.findByStudentAndCourse(studentOpt.get(), courseOpt.get());
-        }
-        return Optional.empty();
+    public List<GradeSummary> getStudentGradesAfter(Long studentId, Long afterId, int limit) {
+        return gradeRepository.findSummariesByStudentIdAfter(studentId, afterId, PageRequest.of(0, limit));
+    }
+    
+    public List<GradeSummary> getCourseGradesAfter(Long courseId, Long afterId, int limit) {
+        return gradeRepository.findSummariesByCourseIdAfter(courseId, afterId, PageRequest.of(0, limit));
+    }
+    
+    public Optional<GradeSummary> getGrade(Long studentId, Long courseId) {
+        return gradeRepository.findSummaryByStudentIdAndCourseId(studentId, courseId);
     }
     
     public BigDecimal getStudentGPA(Long studentId) {
-        Double averageGrade = gradeRepository.getAverageGradeByStudent(studentRepository.findById(studentId).orElse(null));
-        return averageGrade != null ? BigDecimal.valueOf(averageGrade) : BigDecimal.ZERO;
+        return gpaAggregateService.getGpa(studentId);
     }
     
     public BigDecimal getCourseAverage(Long courseId) {
-        Double averageGrade = gradeRepository.getAverageGradeByCourse(courseRepository.findById(courseId).orElse(null));
+        if (courseRepository.findById(courseId).isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+        Double averageGrade = courseStatistics.get(courseId).getAverageScore();
         return averageGrade != null ? BigDecimal.valueOf(averageGrade) : BigDecimal.ZERO;
     }
     
     public List<Grade> getAllGrades() {
-        return gradeRepository.findAll();
+        return gradeRepository.findAllWithStudentAndCourse();
     }
     
     public void deleteGrade(Long gradeId) {
-        gradeRepository.deleteById(gradeId);
+        gradeRepository.findById(gradeId).ifPresent(grade -> {
+            // Deleted first: a student with no aggregate row yet gets one summed from the remaining grades
+            gradeRepository.delete(grade);
+            gradeRepository.flush();
+            gpaAggregateService.recordChange(grade.getStudent().getId(), grade.getScore(), null);
+            eventPublisher.publishEvent(CourseStatisticsEvent.grade(grade.getCourse().getId(), grade.getScore(), null));
+        });
     }
 }
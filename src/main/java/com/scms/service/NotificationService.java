@@ -1,13 +1,18 @@
 package com.scms.service;
 
+import com.scms.cache.UnreadNotificationCounters;
 import com.scms.entity.Notification;
 import com.scms.entity.Student;
+import com.scms.event.NotificationPushEvent;
 import com.scms.repository.NotificationRepository;
 import com.scms.repository.StudentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +26,12 @@ public class NotificationService {
     @Autowired
     private StudentRepository studentRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private UnreadNotificationCounters unreadCounters;
+    
     public Notification sendNotification(Long studentId, String message, Notification.NotificationType type) {
         Optional<Student> studentOpt = studentRepository.findById(studentId);
         if (studentOpt.isEmpty()) {
@@ -28,7 +39,9 @@ public class NotificationService {
         }
         
         Notification notification = new Notification(message, studentOpt.get(), type);
-        return notificationRepository.save(notification);
+        notification = notificationRepository.save(notification);
+        eventPublisher.publishEvent(NotificationPushEvent.forStudent(notification));
+        return notification;
     }
     
     public List<Notification> getStudentNotifications(Long studentId) {
@@ -39,6 +52,14 @@ public class NotificationService {
         return List.of();
     }
     
+    // Newest first; a null sentDate starts from the most recent notification
+    public List<Notification> getStudentNotificationsBefore(Long studentId, LocalDateTime sentDate, Long id, int limit) {
+        if (sentDate == null) {
+            return notificationRepository.findByRecipient_IdOrderBySentDateDescIdDesc(studentId, PageRequest.of(0, limit));
+        }
+        return notificationRepository.findByRecipientIdBefore(studentId, sentDate, id, PageRequest.of(0, limit));
+    }
+    
     public List<Notification> getUnreadNotifications(Long studentId) {
         Optional<Student> studentOpt = studentRepository.findById(studentId);
         if (studentOpt.isPresent()) {
@@ -48,35 +69,37 @@ public class NotificationService {
     }
     
     public long getUnreadCount(Long studentId) {
-        Optional<Student> studentOpt = studentRepository.findById(studentId);
-        if (studentOpt.isPresent()) {
-            return notificationRepository.countUnreadNotificationsByRecipient(studentOpt.get());
-        }
-        return 0;
+        return unreadCounters.get(NotificationPushEvent.Audience.STUDENT, studentId);
     }
     
     public void markAsRead(Long notificationId) {
         Optional<Notification> notificationOpt = notificationRepository.findById(notificationId);
         if (notificationOpt.isPresent()) {
             Notification notification = notificationOpt.get();
+            boolean wasUnread = !notification.isRead();
             notification.setRead(true);
             notificationRepository.save(notification);
+            if (wasUnread) {
+                publishRead(notification);
+            }
         }
     }
     
-    public void markAllAsRead(Long studentId) {
-        Optional<Student> studentOpt = studentRepository.findById(studentId);
-        if (studentOpt.isPresent()) {
-            List<Notification> unreadNotifications = notificationRepository.findUnreadNotificationsByRecipient(studentOpt.get());
-            for (Notification notification : unreadNotifications) {
-                notification.setRead(true);
-                notificationRepository.save(notification);
-            }
-        }
+    public int markAllAsRead(Long studentId) {
+        int updated = notificationRepository.markAllAsReadByRecipientId(studentId);
+        eventPublisher.publishEvent(NotificationPushEvent.unreadCount(NotificationPushEvent.Audience.STUDENT, studentId, 0));
+        return updated;
     }
     
     public void deleteNotification(Long notificationId) {
-        notificationRepository.deleteById(notificationId);
+        Optional<Notification> notificationOpt = notificationRepository.findById(notificationId);
+        if (notificationOpt.isPresent()) {
+            Notification notification = notificationOpt.get();
+            notificationRepository.delete(notification);
+            if (!notification.isRead()) {
+                publishRead(notification);
+            }
+        }
     }
     
     public void deleteAllNotifications(Long studentId) {
@@ -84,6 +107,7 @@ public class NotificationService {
         if (studentOpt.isPresent()) {
             List<Notification> notifications = notificationRepository.findByRecipient(studentOpt.get());
             notificationRepository.deleteAll(notifications);
+            eventPublisher.publishEvent(NotificationPushEvent.unreadCount(NotificationPushEvent.Audience.STUDENT, studentId, 0));
         }
     }
     
@@ -91,11 +115,14 @@ public class NotificationService {
         return notificationRepository.findAllByOrderBySentDateDesc();
     }
     
-    public void markAllAsRead() {
-        List<Notification> unreadNotifications = notificationRepository.findByReadFalse();
-        for (Notification notification : unreadNotifications) {
-            notification.setRead(true);
-            notificationRepository.save(notification);
-        }
+    public int markAllAsRead() {
+        int updated = notificationRepository.markAllAsRead();
+        unreadCounters.invalidateAll(NotificationPushEvent.Audience.STUDENT);
+        return updated;
+    }
+    
+    private void publishRead(Notification notification) {
+        eventPublisher.publishEvent(NotificationPushEvent.read(NotificationPushEvent.Audience.STUDENT,
+            notification.getRecipient().getId(), notification.getId()));
     }
 }
@@ -1,20 +1,35 @@
 package com.scms.service;
 
+import com.scms.cache.CourseSeatRegistry;
+import com.scms.cache.UnreadNotificationCounters;
+import com.scms.cache.VerifiedCredentialCache;
+import com.scms.config.LegacyPasswords;
+import com.scms.dto.StudentSummary;
 import com.scms.entity.Student;
 import com.scms.entity.Enrollment;
 import com.scms.entity.Grade;
 import com.scms.entity.Notification;
+import com.scms.event.CourseStatisticsEvent;
+import com.scms.event.NotificationPushEvent;
 import com.scms.repository.StudentRepository;
 import com.scms.repository.EnrollmentRepository;
 import com.scms.repository.GradeRepository;
 import com.scms.repository.NotificationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -36,6 +51,21 @@ public class StudentService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private GpaAggregateService gpaAggregateService;
+    
+    @Autowired
+    private UnreadNotificationCounters unreadCounters;
+    
+    @Autowired
+    private CourseSeatRegistry courseSeatRegistry;
+    
+    @Autowired
+    private VerifiedCredentialCache verifiedCredentials;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     public Student registerStudent(String name, String email, String password) {
         if (studentRepository.existsByEmail(email)) {
             throw new RuntimeException("Student with email " + email + " already exists");
@@ -58,11 +88,33 @@ public class StudentService {
         return studentRepository.save(student);
     }
     
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<Student> authenticateStudent(String email, String password) {
+        return authenticateStudent(email, password, null);
+    }
+    
+    // A session that already proved this password skips the BCrypt check. No transaction: the
+    // check may wait for a hashing thread, and the only write is the occasional rehash.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<Student> authenticateStudent(String email, String password, String sessionToken) {
         Optional<Student> studentOpt = studentRepository.findByEmail(email);
         if (studentOpt.isPresent()) {
             Student student = studentOpt.get();
-            if (passwordEncoder.matches(password, student.getPassword())) {
+            String storedHash = student.getPassword();
+            if (sessionToken != null && verifiedCredentials.isVerified(sessionToken, "student", email, password, storedHash)) {
+                return Optional.of(student);
+            }
+            // Not yet reached by the password migration: compare the plaintext and leave encoding it
+            // to PasswordMigrationJob, so no BCrypt hash runs on the request thread
+            boolean legacy = !LegacyPasswords.isEncoded(storedHash);
+            if (legacy ? LegacyPasswords.matchesPlaintext(password, storedHash) : passwordEncoder.matches(password, storedHash)) {
+                if (!legacy && passwordEncoder.upgradeEncoding(storedHash)) {
+                    student.setPassword(passwordEncoder.encode(password));
+                    studentRepository.save(student);
+                }
+                if (sessionToken != null) {
+                    verifiedCredentials.remember(sessionToken, "student", email, password, student.getPassword());
+                }
                 return Optional.of(student);
             }
         }
@@ -73,10 +125,22 @@ public class StudentService {
         return studentRepository.findAll();
     }
     
+    public Page<Student> getStudents(Pageable pageable) {
+        return studentRepository.findAll(pageable);
+    }
+    
+    public List<StudentSummary> getStudentsAfter(Long afterId, int limit) {
+        return studentRepository.findSummariesAfter(afterId, PageRequest.of(0, limit));
+    }
+    
     public Optional<Student> getStudentById(Long id) {
         return studentRepository.findById(id);
     }
     
+    public Optional<StudentSummary> getStudentSummary(Long id) {
+        return studentRepository.findSummaryById(id);
+    }
+    
     public Optional<Student> getStudentByEmail(String email) {
         return studentRepository.findByEmail(email);
     }
@@ -90,13 +154,30 @@ public class StudentService {
     }
     
     public void deleteStudent(Long id) {
+        // Enrollments and grades cascade with the student, so their courses' statistics drop them
+        // and the seats they held are released as on withdrawal
+        studentRepository.findById(id).ifPresent(student -> {
+            List<CourseStatisticsEvent.EnrollmentChange> enrollments = new ArrayList<>();
+            for (Enrollment enrollment : enrollmentRepository.findByStudent(student)) {
+                enrollments.add(new CourseStatisticsEvent.EnrollmentChange(enrollment.getCourse().getId(), enrollment.getStatus(), null));
+                if (CourseSeatRegistry.holdsSeat(enrollment.getStatus())) {
+                    courseSeatRegistry.release(enrollment.getCourse().getId());
+                }
+            }
+            List<CourseStatisticsEvent.GradeChange> grades = new ArrayList<>();
+            for (Grade grade : gradeRepository.findByStudent(student)) {
+                grades.add(new CourseStatisticsEvent.GradeChange(grade.getCourse().getId(), grade.getScore(), null));
+            }
+            eventPublisher.publishEvent(new CourseStatisticsEvent(enrollments, grades));
+        });
         studentRepository.deleteById(id);
+        gpaAggregateService.deleteForStudent(id);
     }
     
     public List<Enrollment> getStudentEnrollments(Long studentId) {
         Optional<Student> studentOpt = studentRepository.findById(studentId);
         if (studentOpt.isPresent()) {
-            return enrollmentRepository.findByStudent(studentOpt.get());
+            return enrollmentRepository.findByStudentWithCourse(studentOpt.get());
         }
         return List.of();
     }
@@ -104,55 +185,21 @@ public class StudentService {
     public List<Grade> getStudentGrades(Long studentId) {
         Optional<Student> studentOpt = studentRepository.findById(studentId);
         if (studentOpt.isPresent()) {
-            return gradeRepository.findByStudent(studentOpt.get());
+            return gradeRepository.findByStudentWithCourse(studentOpt.get());
         }
         return List.of();
     }
     
     public BigDecimal calculateStudentGPA(Long studentId) {
-        List<Grade> grades = getStudentGrades(studentId);
-        if (grades.isEmpty()) {
-            return BigDecimal.ZERO;
-        }
-        
-        BigDecimal totalGPA = BigDecimal.ZERO;
-        int totalCredits = 0;
-        
-        for (Grade grade : grades) {
-            BigDecimal score = grade.getScore();
-            // Convert percentage to 4.0 scale
-            BigDecimal gpa;
-            if (score.compareTo(new BigDecimal("93")) >= 0) {
-                gpa = new BigDecimal("4.0");
-            } else if (score.compareTo(new BigDecimal("90")) >= 0) {
-                gpa = new BigDecimal("3.7");
-            } else if (score.compareTo(new BigDecimal("87")) >= 0) {
-                gpa = new BigDecimal("3.3");
-            } else if (score.compareTo(new BigDecimal("83")) >= 0) {
-                gpa = new BigDecimal("3.0");
-            } else if (score.compareTo(new BigDecimal("80")) >= 0) {
-                gpa = new BigDecimal("2.7");
-            } else if (score.compareTo(new BigDecimal("77")) >= 0) {
-                gpa = new BigDecimal("2.3");
-            } else if (score.compareTo(new BigDecimal("73")) >= 0) {
-                gpa = new BigDecimal("2.0");
-            } else if (score.compareTo(new BigDecimal("70")) >= 0) {
-                gpa = new BigDecimal("1.7");
-            } else if (score.compareTo(new BigDecimal("67")) >= 0) {
-                gpa = new BigDecimal("1.3");
-            } else if (score.compareTo(new BigDecimal("63")) >= 0) {
-                gpa = new BigDecimal("1.0");
-            } else if (score.compareTo(new BigDecimal("60")) >= 0) {
-                gpa = new BigDecimal("0.7");
-            } else {
-                gpa = BigDecimal.ZERO;
-            }
-            
-            totalGPA = totalGPA.add(gpa);
-            totalCredits++;
-        }
-        
-        return totalCredits > 0 ? totalGPA.divide(BigDecimal.valueOf(totalCredits), 2, BigDecimal.ROUND_HALF_UP) : BigDecimal.ZERO;
+        return gpaAggregateService.getGpa(studentId);
+    }
+    
+    public Map<Long, BigDecimal> calculateStudentGPAs(Collection<Long> studentIds) {
+        return gpaAggregateService.getGpas(studentIds);
+    }
+    
+    public BigDecimal calculateAverageGPA() {
+        return gpaAggregateService.getAverageGpa();
     }
     
     public List<Notification> getStudentNotifications(Long studentId) {
@@ -164,10 +211,6 @@ public class StudentService {
     }
     
     public long getUnreadNotificationCount(Long studentId) {
-        Optional<Student> studentOpt = studentRepository.findById(studentId);
-        if (studentOpt.isPresent()) {
-            return notificationRepository.countUnreadNotificationsByRecipient(studentOpt.get());
-        }
-        return 0;
+        return unreadCounters.get(NotificationPushEvent.Audience.STUDENT, studentId);
     }
 }
@@ -0,0 +1,67 @@
+-- Tables, indexes and constraints added after the production schema was created. Runs on every start
+-- of the prod profile (spring.sql.init.platform=mysql), before Hibernate validates the schema, so
+-- statements must be idempotent. ddl-auto=validate never creates indexes or constraints itself.
+
+CREATE TABLE IF NOT EXISTS student_gpa_aggregates (
+    student_id BIGINT NOT NULL,
+    grade_point_tenths BIGINT NOT NULL,
+    score_sum DECIMAL(12,2) NOT NULL,
+    grade_count BIGINT NOT NULL,
+    PRIMARY KEY (student_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS migration_markers (
+    name VARCHAR(100) NOT NULL,
+    last_id BIGINT NOT NULL,
+    completed_at DATETIME(6),
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE=InnoDB;
+
+-- MySQL has no CREATE INDEX IF NOT EXISTS: each index below is created through a prepared
+-- statement only when information_schema does not list it yet.
+
+-- One row per student and course. Adding these fails while duplicate rows exist; remove them first.
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'enrollments' AND index_name = 'uk_enrollments_student_course') = 0,
+              'ALTER TABLE enrollments ADD CONSTRAINT uk_enrollments_student_course UNIQUE (student_id, course_id)', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'grades' AND index_name = 'uk_grades_student_course') = 0,
+              'ALTER TABLE grades ADD CONSTRAINT uk_grades_student_course UNIQUE (student_id, course_id)', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+-- findByStatus and the grouped full-course subquery behind findAvailableCourses / findFullCourses
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'enrollments' AND index_name = 'idx_enrollments_status_course') = 0,
+              'CREATE INDEX idx_enrollments_status_course ON enrollments (status, course_id)', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+-- Unread counts and newest-first notification feeds
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'notifications' AND index_name = 'idx_notifications_recipient_read_sent') = 0,
+              'CREATE INDEX idx_notifications_recipient_read_sent ON notifications (recipient_id, is_read, sent_date)', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'admin_notifications' AND index_name = 'idx_admin_notifications_admin_read_sent') = 0,
+              'CREATE INDEX idx_admin_notifications_admin_read_sent ON admin_notifications (admin_id, is_read, sent_date)', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'admin_notifications' AND index_name = 'idx_admin_notifications_sent_date') = 0,
+              'CREATE INDEX idx_admin_notifications_sent_date ON admin_notifications (sent_date)', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
@@ -0,0 +1,67 @@
+package com.scms.aspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PerformanceMonitoringAspectTest {
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private MethodSignature signature;
+
+    private MeterRegistry meterRegistry;
+
+    private PerformanceMonitoringAspect aspect;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        aspect = new PerformanceMonitoringAspect();
+        ReflectionTestUtils.setField(aspect, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(aspect, "slowCallThresholdMillis", 1000L);
+        ReflectionTestUtils.setField(aspect, "slowCallLogIntervalMillis", 10000L);
+
+        Method method = String.class.getMethod("length");
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(signature.getMethod()).thenReturn(method);
+    }
+
+    @Test
+    void monitorPerformance_RecordsEveryCallOnOneTimer() throws Throwable {
+        when(joinPoint.proceed()).thenReturn("ok");
+
+        assertEquals("ok", aspect.monitorPerformance(joinPoint));
+        assertEquals("ok", aspect.monitorPerformance(joinPoint));
+
+        Timer timer = meterRegistry.get("scms.service.calls").tag("class", "String").tag("method", "length").timer();
+        assertEquals(2, timer.count());
+        assertEquals(1, meterRegistry.find("scms.service.calls").timers().size());
+    }
+
+    @Test
+    void monitorPerformance_CountsErrors() throws Throwable {
+        when(joinPoint.proceed()).thenThrow(new RuntimeException("boom"));
+
+        assertThrows(RuntimeException.class, () -> aspect.monitorPerformance(joinPoint));
+
+        assertEquals(1.0, meterRegistry.get("scms.service.errors").counter().count());
+        assertEquals(1, meterRegistry.get("scms.service.calls").timer().count());
+    }
+}
@@ -0,0 +1,18 @@
+package com.scms.benchmark;
+
+import com.scms.ScmsApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Boots the application against the in-memory "bench" profile for a JMH trial
+final class BenchmarkContext {
+
+    private BenchmarkContext() {}
+
+    static ConfigurableApplicationContext start(String... extraArgs) {
+        String[] args = new String[extraArgs.length + 1];
+        args[0] = "--spring.profiles.active=bench";
+        System.arraycopy(extraArgs, 0, args, 1, extraArgs.length);
+        return new SpringApplicationBuilder(ScmsApplication.class).run(args);
+    }
+}
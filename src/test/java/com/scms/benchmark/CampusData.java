@@ -0,0 +1,107 @@
+package com.scms.benchmark;
+
+import com.scms.service.GpaAggregateService;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// A mid-sized campus for the service hot-path benchmarks: 10k students taking six of 400 courses
+// each (five graded), 25 administrators and a term's worth of notifications. Seeded over JDBC in
+// a fixed order, so the same ids come out on every run.
+final class CampusData {
+
+    static final int STUDENTS = 10_000;
+    static final int COURSES = 400;
+    static final int COURSES_PER_STUDENT = 6;
+    static final int GRADED_PER_STUDENT = 5;
+    static final int ADMINS = 25;
+    static final int NOTIFICATIONS_PER_STUDENT = 10;
+
+    private static final int BATCH_SIZE = 10_000;
+
+    final long firstStudentId;
+    final long firstCourseId;
+
+    private CampusData(long firstStudentId, long firstCourseId) {
+        this.firstStudentId = firstStudentId;
+        this.firstCourseId = firstCourseId;
+    }
+
+    static CampusData seed(ConfigurableApplicationContext context) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < ADMINS; i++) {
+            rows.add(new Object[] {"Admin " + i, "admin" + i + "@bench.test", "password"});
+        }
+        flush(jdbcTemplate, "INSERT INTO administrators (name, email, password) VALUES (?, ?, ?)", rows);
+
+        // Sized so the average course (150 students) still has seats left
+        for (int i = 0; i < COURSES; i++) {
+            rows.add(new Object[] {"Course " + i, "Benchmark course", 200, "None"});
+        }
+        flush(jdbcTemplate, "INSERT INTO courses (title, description, capacity, prerequisites) VALUES (?, ?, ?, ?)", rows);
+        long firstCourseId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM courses", Long.class) - COURSES + 1;
+
+        for (int i = 0; i < STUDENTS; i++) {
+            rows.add(new Object[] {"Student " + i, "student" + i + "@bench.test", "password"});
+            if (rows.size() == BATCH_SIZE) {
+                flush(jdbcTemplate, "INSERT INTO students (name, email, password) VALUES (?, ?, ?)", rows);
+            }
+        }
+        flush(jdbcTemplate, "INSERT INTO students (name, email, password) VALUES (?, ?, ?)", rows);
+        long firstStudentId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM students", Long.class) - STUDENTS + 1;
+
+        // Consecutive courses from a per-student offset: distinct, and spread evenly across courses
+        List<Object[]> grades = new ArrayList<>(BATCH_SIZE);
+        for (int s = 0; s < STUDENTS; s++) {
+            for (int k = 0; k < COURSES_PER_STUDENT; k++) {
+                long courseId = firstCourseId + (s * 7L + k) % COURSES;
+                boolean graded = k < GRADED_PER_STUDENT;
+                rows.add(new Object[] {firstStudentId + s, courseId, now, graded ? "COMPLETED" : "ACTIVE"});
+                if (graded) {
+                    BigDecimal score = BigDecimal.valueOf(450 + random.nextInt(551), 1);
+                    grades.add(new Object[] {firstStudentId + s, courseId, score, now});
+                }
+                if (rows.size() == BATCH_SIZE) {
+                    flush(jdbcTemplate,
+                        "INSERT INTO enrollments (student_id, course_id, enrollment_date, status) VALUES (?, ?, ?, ?)", rows);
+                }
+                if (grades.size() == BATCH_SIZE) {
+                    flush(jdbcTemplate, "INSERT INTO grades (student_id, course_id, score, recorded_date) VALUES (?, ?, ?, ?)", grades);
+                }
+            }
+        }
+        flush(jdbcTemplate, "INSERT INTO enrollments (student_id, course_id, enrollment_date, status) VALUES (?, ?, ?, ?)", rows);
+        flush(jdbcTemplate, "INSERT INTO grades (student_id, course_id, score, recorded_date) VALUES (?, ?, ?, ?)", grades);
+
+        for (int s = 0; s < STUDENTS; s++) {
+            for (int n = 0; n < NOTIFICATIONS_PER_STUDENT; n++) {
+                rows.add(new Object[] {"Term update " + n, firstStudentId + s, now, "SYSTEM", n % 3 == 0});
+                if (rows.size() == BATCH_SIZE) {
+                    flush(jdbcTemplate,
+                        "INSERT INTO notifications (message, recipient_id, sent_date, type, is_read) VALUES (?, ?, ?, ?, ?)", rows);
+                }
+            }
+        }
+        flush(jdbcTemplate, "INSERT INTO notifications (message, recipient_id, sent_date, type, is_read) VALUES (?, ?, ?, ?, ?)", rows);
+
+        context.getBean(GpaAggregateService.class).rebuildAll();
+        return new CampusData(firstStudentId, firstCourseId);
+    }
+
+    private static void flush(JdbcTemplate jdbcTemplate, String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.scms.benchmark;
+
+import com.scms.entity.Course;
+import com.scms.repository.CourseRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Available-course lookup: the old per-row correlated COUNT vs. the grouped full-course subquery
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CourseAvailabilityBenchmark {
+
+    private static final String CORRELATED_AVAILABLE_COURSES =
+        "SELECT c FROM Course c WHERE c.capacity > " +
+        "(SELECT COUNT(e) FROM Enrollment e WHERE e.course = c AND e.status = 'ACTIVE')";
+
+    private static final int COURSES_PER_STUDENT = 100;
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param("5000")
+    private int courseCount;
+
+    @Param("2000000")
+    private int enrollmentCount;
+
+    private ConfigurableApplicationContext context;
+    private CourseRepository courseRepository;
+    private EntityManagerFactory entityManagerFactory;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        // Measure the SQL, not the query cache
+        context = BenchmarkContext.start("--spring.jpa.properties.hibernate.cache.use_query_cache=false");
+        courseRepository = context.getBean(CourseRepository.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Course> correlatedSubquery() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery(CORRELATED_AVAILABLE_COURSES, Course.class).getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public List<Course> groupedSubquery() {
+        return courseRepository.findAvailableCourses();
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        // Capacities straddle the ~360 active enrollments each course ends up with, so some are full
+        List<Object[]> courses = new ArrayList<>(courseCount);
+        for (int i = 0; i < courseCount; i++) {
+            courses.add(new Object[] {"Course " + i, "Benchmark course", 320 + (i % 100), "None"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO courses (title, description, capacity, prerequisites) VALUES (?, ?, ?, ?)", courses);
+        long firstCourseId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM courses", Long.class);
+
+        int studentCount = enrollmentCount / COURSES_PER_STUDENT;
+        List<Object[]> students = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < studentCount; i++) {
+            students.add(new Object[] {"Student " + i, "student" + i + "@bench.test", "password"});
+            if (students.size() == BATCH_SIZE || i == studentCount - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO students (name, email, password) VALUES (?, ?, ?)", students);
+                students.clear();
+            }
+        }
+        long firstStudentId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM students", Long.class);
+
+        // Each student takes 100 distinct courses spread evenly, one in ten not (yet) active
+        Timestamp enrolledAt = Timestamp.valueOf(LocalDateTime.now());
+        int stride = courseCount / COURSES_PER_STUDENT;
+        List<Object[]> enrollments = new ArrayList<>(BATCH_SIZE);
+        for (int s = 0; s < studentCount; s++) {
+            for (int k = 0; k < COURSES_PER_STUDENT; k++) {
+                long courseId = firstCourseId + (s + (long) k * stride) % courseCount;
+                String status = (s + k) % 10 == 0 ? "PENDING" : "ACTIVE";
+                enrollments.add(new Object[] {firstStudentId + s, courseId, enrolledAt, status});
+                if (enrollments.size() == BATCH_SIZE) {
+                    insertEnrollments(jdbcTemplate, enrollments);
+                }
+            }
+        }
+        if (!enrollments.isEmpty()) {
+            insertEnrollments(jdbcTemplate, enrollments);
+        }
+    }
+
+    private void insertEnrollments(JdbcTemplate jdbcTemplate, List<Object[]> enrollments) {
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO enrollments (student_id, course_id, enrollment_date, status) VALUES (?, ?, ?, ?)", enrollments);
+        enrollments.clear();
+    }
+}
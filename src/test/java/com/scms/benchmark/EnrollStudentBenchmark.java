@@ -0,0 +1,62 @@
+package com.scms.benchmark;
+
+import com.scms.entity.Enrollment;
+import com.scms.service.EnrollmentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Enrollment request into a course the student has not taken: lookups, seat reservation, the
+// enrollment and student notification inserts, and the admin broadcast handed to the fan-out executor
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = EnrollStudentBenchmark.ENROLLMENTS_PER_ITERATION)
+@Measurement(iterations = 10, batchSize = EnrollStudentBenchmark.ENROLLMENTS_PER_ITERATION)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EnrollStudentBenchmark {
+
+    static final int ENROLLMENTS_PER_ITERATION = 1000;
+
+    // Large enough that no iteration runs out of seats or fresh (student, course) pairs
+    private static final int ELECTIVES = 20;
+    private static final int ELECTIVE_CAPACITY = 100_000;
+
+    private ConfigurableApplicationContext context;
+    private EnrollmentService enrollmentService;
+    private CampusData campus;
+    private long firstElectiveId;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkContext.start();
+        enrollmentService = context.getBean(EnrollmentService.class);
+        campus = CampusData.seed(context);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Object[]> electives = new ArrayList<>(ELECTIVES);
+        for (int i = 0; i < ELECTIVES; i++) {
+            electives.add(new Object[] {"Elective " + i, "Benchmark elective", ELECTIVE_CAPACITY, "None"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO courses (title, description, capacity, prerequisites) VALUES (?, ?, ?, ?)", electives);
+        firstElectiveId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM courses", Long.class) - ELECTIVES + 1;
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Enrollment enrollStudent() {
+        int pair = next++;
+        long studentId = campus.firstStudentId + pair % CampusData.STUDENTS;
+        long courseId = firstElectiveId + pair / CampusData.STUDENTS;
+        return enrollmentService.enrollStudent(studentId, courseId);
+    }
+}
@@ -0,0 +1,38 @@
+package com.scms.benchmark;
+
+import com.scms.service.AdministratorService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Admin enrollment report over every course on the seeded campus
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EnrollmentReportBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private AdministratorService administratorService;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkContext.start();
+        administratorService = context.getBean(AdministratorService.class);
+        CampusData.seed(context);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> generateEnrollmentReport() {
+        return administratorService.generateEnrollmentReport();
+    }
+}
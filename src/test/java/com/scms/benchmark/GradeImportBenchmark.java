@@ -0,0 +1,103 @@
+package com.scms.benchmark;
+
+import com.scms.service.GradeImportReader;
+import com.scms.service.GradeImportResult;
+import com.scms.service.GradeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// End-of-term upload of one grade per student into empty grades; the target is >20k rows/s,
+// i.e. under 2s per 40k-row import on H2
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class GradeImportBenchmark {
+
+    private static final int COURSE_COUNT = 20;
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param("40000")
+    private int rowCount;
+
+    @Param({"CSV", "NDJSON"})
+    private GradeImportReader.Format format;
+
+    private ConfigurableApplicationContext context;
+    private GradeService gradeService;
+    private JdbcTemplate jdbcTemplate;
+    private String upload;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkContext.start();
+        gradeService = context.getBean(GradeService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        upload = seed();
+    }
+
+    @Setup(Level.Iteration)
+    public void clearGrades() {
+        jdbcTemplate.update("DELETE FROM grades");
+        jdbcTemplate.update("DELETE FROM notifications");
+        jdbcTemplate.update("DELETE FROM student_gpa_aggregates");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public GradeImportResult importGrades() {
+        GradeImportResult result = gradeService.importGrades(new StringReader(upload), format);
+        if (result.getFailed() > 0) {
+            throw new IllegalStateException(result.getFailed() + " rows failed to import");
+        }
+        return result;
+    }
+
+    private String seed() {
+        List<Object[]> courses = new ArrayList<>(COURSE_COUNT);
+        for (int i = 0; i < COURSE_COUNT; i++) {
+            courses.add(new Object[] {"Course " + i, "Benchmark course", 5000, "None"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO courses (title, description, capacity, prerequisites) VALUES (?, ?, ?, ?)", courses);
+        long firstCourseId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM courses", Long.class);
+
+        List<Object[]> students = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < rowCount; i++) {
+            students.add(new Object[] {"Student " + i, "student" + i + "@bench.test", "password"});
+            if (students.size() == BATCH_SIZE || i == rowCount - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO students (name, email, password) VALUES (?, ?, ?)", students);
+                students.clear();
+            }
+        }
+        long firstStudentId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM students", Long.class);
+
+        StringBuilder upload = new StringBuilder(rowCount * 48);
+        if (format == GradeImportReader.Format.CSV) {
+            upload.append("studentId,courseId,score,comments\n");
+        }
+        for (int i = 0; i < rowCount; i++) {
+            long studentId = firstStudentId + i;
+            long courseId = firstCourseId + i % COURSE_COUNT;
+            String score = (50 + i % 50) + "." + (i % 10);
+            if (format == GradeImportReader.Format.CSV) {
+                upload.append(studentId).append(',').append(courseId).append(',').append(score).append(",\"Final, term\"\n");
+            } else {
+                upload.append("{\"studentId\":").append(studentId).append(",\"courseId\":").append(courseId)
+                    .append(",\"score\":").append(score).append(",\"comments\":\"Final, term\"}\n");
+            }
+        }
+        return upload.toString();
+    }
+}
@@ -0,0 +1,43 @@
+package com.scms.benchmark;
+
+import com.scms.entity.Grade;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Letter grade for a transcript page worth of scores; no application context needed
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LetterGradeBenchmark {
+
+    private static final int SCORES = 1024;
+
+    private Grade[] grades;
+
+    @Setup(Level.Trial)
+    public void createGrades() {
+        // Scores in tenths across 0-100, so every branch is taken and none is predictable
+        Random random = new Random(42);
+        grades = new Grade[SCORES];
+        for (int i = 0; i < SCORES; i++) {
+            Grade grade = new Grade();
+            grade.setScore(BigDecimal.valueOf(random.nextInt(1001), 1));
+            grades[i] = grade;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SCORES)
+    public void getLetterGrade(Blackhole blackhole) {
+        for (Grade grade : grades) {
+            blackhole.consume(grade.getLetterGrade());
+        }
+    }
+}
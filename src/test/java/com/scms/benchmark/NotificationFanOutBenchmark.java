@@ -0,0 +1,69 @@
+package com.scms.benchmark;
+
+import com.scms.entity.AdminNotification;
+import com.scms.event.AdminBroadcastEvent;
+import com.scms.event.AdminBroadcastListener;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// One admin broadcast (e.g. a pending enrollment request) fanned out to every administrator.
+// The listener is called on its target so the work runs on the benchmark thread instead of
+// being handed to the async executor.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class NotificationFanOutBenchmark {
+
+    @Param({"25", "500"})
+    private int admins;
+
+    private ConfigurableApplicationContext context;
+    private AdminBroadcastListener listener;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkContext.start();
+        listener = AopTestUtils.getUltimateTargetObject(context.getBean(AdminBroadcastListener.class));
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        CampusData.seed(context);
+
+        List<Object[]> extraAdmins = new ArrayList<>();
+        for (int i = CampusData.ADMINS; i < admins; i++) {
+            extraAdmins.add(new Object[] {"Admin " + i, "admin" + i + "@bench.test", "password"});
+        }
+        if (!extraAdmins.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO administrators (name, email, password) VALUES (?, ?, ?)", extraAdmins);
+        }
+    }
+
+    // Keeps admin_notifications from growing by millions of rows over the trial
+    @Setup(Level.Iteration)
+    public void clearAdminNotifications() {
+        jdbcTemplate.update("DELETE FROM admin_notifications");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public void broadcastToAdmins() {
+        AdminBroadcastEvent event = new AdminBroadcastEvent("New enrollment request from Student 1 for course: Course 1",
+            AdminNotification.AdminNotificationType.PENDING_ENROLLMENT_REQUEST, 1L, "ENROLLMENT");
+        transactionTemplate.executeWithoutResult(status -> listener.onAdminBroadcast(event));
+    }
+}
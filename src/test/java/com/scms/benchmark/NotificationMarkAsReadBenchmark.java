@@ -0,0 +1,88 @@
+package com.scms.benchmark;
+
+import com.scms.entity.Notification;
+import com.scms.entity.Student;
+import com.scms.repository.NotificationRepository;
+import com.scms.repository.StudentRepository;
+import com.scms.service.NotificationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Marking a student's unread notifications as read: per-entity save loop vs. one bulk UPDATE
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class NotificationMarkAsReadBenchmark {
+
+    @Param("100000")
+    private int unreadRows;
+
+    private ConfigurableApplicationContext context;
+    private NotificationService notificationService;
+    private NotificationRepository notificationRepository;
+    private StudentRepository studentRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private Long studentId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkContext.start();
+        notificationService = context.getBean(NotificationService.class);
+        notificationRepository = context.getBean(NotificationRepository.class);
+        studentRepository = context.getBean(StudentRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        studentId = studentRepository.save(new Student("Bench Student", "bench@scms.test", "password")).getId();
+
+        Timestamp sentDate = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(unreadRows);
+        for (int i = 0; i < unreadRows; i++) {
+            rows.add(new Object[] {"End of term announcement " + i, studentId, sentDate, "SYSTEM", false});
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO notifications (message, recipient_id, sent_date, type, is_read) VALUES (?, ?, ?, ?, ?)",
+            rows);
+    }
+
+    @Setup(Level.Iteration)
+    public void markAllUnread() {
+        jdbcTemplate.update("UPDATE notifications SET is_read = FALSE");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public int perEntitySave() {
+        // The previous NotificationService.markAllAsRead(Long) implementation
+        return transactionTemplate.execute(status -> {
+            Student student = studentRepository.findById(studentId).orElseThrow();
+            List<Notification> unread = notificationRepository.findUnreadNotificationsByRecipient(student);
+            for (Notification notification : unread) {
+                notification.setRead(true);
+                notificationRepository.save(notification);
+            }
+            return unread.size();
+        });
+    }
+
+    @Benchmark
+    public int bulkUpdate() {
+        return notificationService.markAllAsRead(studentId);
+    }
+}
@@ -0,0 +1,159 @@
+package com.scms.benchmark;
+
+import com.scms.entity.Course;
+import com.scms.repository.CourseRepository;
+import com.scms.repository.EnrollmentRepository;
+import com.scms.repository.GradeRepository;
+import com.scms.repository.StudentRepository;
+import com.scms.service.AdministratorService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Admin enrollment and grade reports at 5k courses: the previous per-course queries vs. reports
+// read from CourseStatisticsStore, which is loaded in bulk by the first warmup call
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReportGenerationBenchmark {
+
+    private static final int COURSES_PER_STUDENT = 20;
+    private static final int GRADED_PER_STUDENT = 10;
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param("5000")
+    private int courseCount;
+
+    @Param("50000")
+    private int studentCount;
+
+    private ConfigurableApplicationContext context;
+    private AdministratorService administratorService;
+    private CourseRepository courseRepository;
+    private EnrollmentRepository enrollmentRepository;
+    private GradeRepository gradeRepository;
+    private StudentRepository studentRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        // Measure the SQL, not the query cache
+        context = BenchmarkContext.start("--spring.jpa.properties.hibernate.cache.use_query_cache=false");
+        administratorService = context.getBean(AdministratorService.class);
+        courseRepository = context.getBean(CourseRepository.class);
+        enrollmentRepository = context.getBean(EnrollmentRepository.class);
+        gradeRepository = context.getBean(GradeRepository.class);
+        studentRepository = context.getBean(StudentRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> enrollmentReportPerCourse() {
+        // The previous AdministratorService.generateEnrollmentReport
+        return transactionTemplate.execute(status -> {
+            List<Course> courses = courseRepository.findAll();
+            Map<String, Object> stats = new HashMap<>();
+            for (Course course : courses) {
+                stats.put(course.getTitle(), Map.of(
+                    "capacity", course.getCapacity(),
+                    "enrolled", enrollmentRepository.countActiveEnrollmentsByCourse(course),
+                    "available", course.getCapacity() - enrollmentRepository.countActiveEnrollmentsByCourse(course)));
+            }
+            return Map.of("totalCourses", courses.size(), "totalStudents", studentRepository.count(),
+                "totalEnrollments", enrollmentRepository.count(), "courseEnrollmentStats", stats);
+        });
+    }
+
+    @Benchmark
+    public Map<String, Object> enrollmentReportFromStatistics() {
+        return administratorService.generateEnrollmentReport();
+    }
+
+    @Benchmark
+    public Map<String, Object> gradeReportPerCourse() {
+        // The previous AdministratorService.generateGradeReport
+        return transactionTemplate.execute(status -> {
+            Map<String, Object> stats = new HashMap<>();
+            for (Course course : courseRepository.findAll()) {
+                Double average = gradeRepository.getAverageGradeByCourse(course);
+                stats.put(course.getTitle(), Map.of(
+                    "averageGrade", average != null ? average : 0.0,
+                    "totalGrades", gradeRepository.findByCourse(course).size()));
+            }
+            return Map.of("totalGrades", gradeRepository.count(), "courseGradeStats", stats);
+        });
+    }
+
+    @Benchmark
+    public Map<String, Object> gradeReportFromStatistics() {
+        return administratorService.generateGradeReport();
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < courseCount; i++) {
+            rows.add(new Object[] {"Course " + i, "Benchmark course", 300, "None"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO courses (title, description, capacity, prerequisites) VALUES (?, ?, ?, ?)", rows);
+        rows.clear();
+        long firstCourseId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM courses", Long.class) - courseCount + 1;
+
+        for (int i = 0; i < studentCount; i++) {
+            rows.add(new Object[] {"Student " + i, "student" + i + "@bench.test", "password"});
+            if (rows.size() == BATCH_SIZE || i == studentCount - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO students (name, email, password) VALUES (?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        long firstStudentId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM students", Long.class) - studentCount + 1;
+
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> grades = new ArrayList<>(BATCH_SIZE);
+        for (int s = 0; s < studentCount; s++) {
+            for (int k = 0; k < COURSES_PER_STUDENT; k++) {
+                long courseId = firstCourseId + (s * 13L + k) % courseCount;
+                boolean graded = k < GRADED_PER_STUDENT;
+                rows.add(new Object[] {firstStudentId + s, courseId, now, graded ? "COMPLETED" : "ACTIVE"});
+                if (graded) {
+                    grades.add(new Object[] {firstStudentId + s, courseId, BigDecimal.valueOf(400 + random.nextInt(601), 1), now});
+                }
+                if (rows.size() == BATCH_SIZE) {
+                    jdbcTemplate.batchUpdate(
+                        "INSERT INTO enrollments (student_id, course_id, enrollment_date, status) VALUES (?, ?, ?, ?)", rows);
+                    rows.clear();
+                }
+                if (grades.size() == BATCH_SIZE) {
+                    jdbcTemplate.batchUpdate("INSERT INTO grades (student_id, course_id, score, recorded_date) VALUES (?, ?, ?, ?)", grades);
+                    grades.clear();
+                }
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO enrollments (student_id, course_id, enrollment_date, status) VALUES (?, ?, ?, ?)", rows);
+        }
+        if (!grades.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO grades (student_id, course_id, score, recorded_date) VALUES (?, ?, ?, ?)", grades);
+        }
+    }
+}
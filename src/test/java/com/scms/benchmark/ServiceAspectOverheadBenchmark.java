@@ -0,0 +1,56 @@
+package com.scms.benchmark;
+
+import com.scms.service.DashboardStatisticsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Cost of the service aspect chain around a trivial call (a cached dashboard snapshot read)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceAspectOverheadBenchmark {
+
+    // off: no aspects; on: aspects with service logging gated off; traced: DEBUG tracing, 1 in 100 sampled
+    @Param({"off", "on", "traced"})
+    private String aspects;
+
+    private ConfigurableApplicationContext context;
+    private DashboardStatisticsService dashboardStatisticsService;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        // Keep the snapshot from expiring so every invocation stays on the cached path
+        String ttl = "--scms.dashboard.stats-ttl-ms=3600000";
+        switch (aspects) {
+            // @EnableAspectJAutoProxy ignores spring.aop.auto, so the aspects that match services are switched off one by one
+            case "off" -> context = BenchmarkContext.start(ttl, "--scms.logging.aspect.enabled=false",
+                "--scms.metrics.aspect.enabled=false", "--scms.exception-logging.aspect.enabled=false");
+            case "traced" -> context = BenchmarkContext.start(ttl,
+                "--logging.level.com.scms.service=DEBUG", "--scms.logging.aspect.sample-rate=100");
+            default -> context = BenchmarkContext.start(ttl);
+        }
+        dashboardStatisticsService = context.getBean(DashboardStatisticsService.class);
+        if (AopUtils.isAopProxy(dashboardStatisticsService) != !aspects.equals("off")) {
+            context.close();
+            throw new IllegalStateException("Aspects are not " + aspects + " for DashboardStatisticsService");
+        }
+        dashboardStatisticsService.getDashboardStats();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> cachedServiceCall() {
+        return dashboardStatisticsService.getDashboardStats();
+    }
+}
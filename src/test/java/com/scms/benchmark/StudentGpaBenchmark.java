@@ -0,0 +1,42 @@
+package com.scms.benchmark;
+
+import com.scms.service.StudentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// GPA lookup for a random student, as on every dashboard and transcript view
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class StudentGpaBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private StudentService studentService;
+    private CampusData campus;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkContext.start();
+        studentService = context.getBean(StudentService.class);
+        campus = CampusData.seed(context);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public BigDecimal calculateStudentGPA() {
+        long studentId = campus.firstStudentId + ThreadLocalRandom.current().nextInt(CampusData.STUDENTS);
+        return studentService.calculateStudentGPA(studentId);
+    }
+}
@@ -0,0 +1,222 @@
+package com.scms.benchmark;
+
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Closed-loop HTTP load test of platform vs. virtual request threads against the same connection
+// pool: every simulated user sends one request from a mix of read endpoints, waits for the
+// response and sends the next. Not a JMH benchmark because the unit of work is a whole server.
+//
+//   mvn -Pvirtual-threads test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+//       -Dexec.args="-classpath %classpath com.scms.benchmark.ThreadingLoadTest"
+//
+// Tunables, placed in exec.args before -classpath: -Dusers=2000 -Dwarmup.seconds=15
+// -Dduration.seconds=60 -Dpool.size=40 -Dseed.students=20000 (synthetic data, see SyntheticDataSeeder)
+public final class ThreadingLoadTest {
+
+    private ThreadingLoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("users", 2000);
+        int warmupSeconds = Integer.getInteger("warmup.seconds", 15);
+        int durationSeconds = Integer.getInteger("duration.seconds", 60);
+        int poolSize = Integer.getInteger("pool.size", 40);
+        int seedStudents = Integer.getInteger("seed.students", 20000);
+
+        List<Result> results = new ArrayList<>();
+        results.add(run(false, users, warmupSeconds, durationSeconds, poolSize, seedStudents));
+        if (Runtime.version().feature() >= 21) {
+            results.add(run(true, users, warmupSeconds, durationSeconds, poolSize, seedStudents));
+        } else {
+            System.out.println("Virtual threads need Java 21; only the platform-thread run was done");
+        }
+
+        System.out.printf("%n%d users, %ds measured, connection pool %d, %d seeded students%n",
+            users, durationSeconds, poolSize, seedStudents);
+        System.out.printf("%-10s %12s %10s %10s %10s %8s%n", "threads", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "errors");
+        for (Result result : results) {
+            System.out.printf("%-10s %12.0f %10.1f %10.1f %10.1f %8d%n", result.mode, result.throughput,
+                result.p50Millis, result.p99Millis, result.p999Millis, result.errors);
+        }
+    }
+
+    private static Result run(boolean virtual, int users, int warmupSeconds, int durationSeconds, int poolSize,
+                              int seedStudents) throws InterruptedException {
+        ConfigurableApplicationContext context = BenchmarkContext.start(
+            "--spring.profiles.include=seed",
+            "--scms.seed.students=" + seedStudents,
+            "--scms.seed.courses=" + Math.max(100, seedStudents / 40),
+            "--spring.main.web-application-type=servlet",
+            "--server.port=0",
+            "--spring.threads.virtual.enabled=" + virtual,
+            "--spring.datasource.hikari.maximum-pool-size=" + poolSize);
+        PinnedThreadMonitor pinned = virtual ? PinnedThreadMonitor.start() : null;
+        try {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            LoadRun load = new LoadRun(port, requestMix(context.getBean(JdbcTemplate.class)));
+            return load.drive(virtual ? "virtual" : "platform", users, warmupSeconds, durationSeconds);
+        } finally {
+            if (pinned != null) {
+                pinned.report();
+            }
+            context.close();
+        }
+    }
+
+    // Typical page-load reads for a sample of the seeded students
+    private static List<String> requestMix(JdbcTemplate jdbcTemplate) {
+        List<String> paths = new ArrayList<>();
+        paths.add("/api/courses/available");
+        for (Long id : jdbcTemplate.queryForList("SELECT id FROM students ORDER BY id LIMIT 5000", Long.class)) {
+            paths.add("/api/students/" + id);
+            paths.add("/api/students/" + id + "/enrollments");
+            paths.add("/api/students/" + id + "/gpa");
+            paths.add("/api/students/" + id + "/notifications?limit=20");
+        }
+        return paths;
+    }
+
+    private static final class LoadRun {
+        private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        private final String baseUrl;
+        private final List<String> paths;
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final LongAdder errors = new LongAdder();
+        private volatile boolean recording;
+        private volatile boolean stopped;
+        private CountDownLatch finished;
+
+        private LoadRun(int port, List<String> paths) {
+            this.baseUrl = "http://localhost:" + port;
+            this.paths = paths;
+        }
+
+        private Result drive(String mode, int users, int warmupSeconds, int durationSeconds) throws InterruptedException {
+            finished = new CountDownLatch(users);
+            for (int i = 0; i < users; i++) {
+                next();
+            }
+            TimeUnit.SECONDS.sleep(warmupSeconds);
+            recording = true;
+            TimeUnit.SECONDS.sleep(durationSeconds);
+            recording = false;
+            stopped = true;
+            finished.await(30, TimeUnit.SECONDS);
+
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            return new Result(mode, (double) sorted.length / durationSeconds,
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99), percentileMillis(sorted, 0.999),
+                errors.sum());
+        }
+
+        // Each completion issues the user's next request, so exactly `users` requests are in flight
+        private void next() {
+            if (stopped) {
+                finished.countDown();
+                return;
+            }
+            String path = paths.get(ThreadLocalRandom.current().nextInt(paths.size()));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).build();
+            long start = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                long elapsed = System.nanoTime() - start;
+                if (recording) {
+                    if (error != null || response.statusCode() >= 400) {
+                        errors.increment();
+                    } else {
+                        latencies.add(elapsed);
+                    }
+                }
+                next();
+            });
+        }
+
+        private static double percentileMillis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+
+    // Records virtual threads that blocked for 20ms+ while pinned to their carrier, grouped by the
+    // first non-JDK frame (usually the synchronized block or native call responsible)
+    private static final class PinnedThreadMonitor {
+        private final RecordingStream stream = new RecordingStream();
+        private final Map<String, LongAdder> byFrame = new ConcurrentHashMap<>();
+
+        static PinnedThreadMonitor start() {
+            PinnedThreadMonitor monitor = new PinnedThreadMonitor();
+            monitor.stream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(20)).withStackTrace();
+            monitor.stream.onEvent("jdk.VirtualThreadPinned", event ->
+                monitor.byFrame.computeIfAbsent(culprit(event.getStackTrace()), frame -> new LongAdder()).increment());
+            monitor.stream.startAsync();
+            return monitor;
+        }
+
+        void report() {
+            stream.close();
+            if (byFrame.isEmpty()) {
+                System.out.println("No pinned virtual threads over 20ms");
+                return;
+            }
+            System.out.println("Pinned virtual threads over 20ms, by frame:");
+            byFrame.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                .limit(10)
+                .forEach(entry -> System.out.printf("  %6d  %s%n", entry.getValue().sum(), entry.getKey()));
+        }
+
+        private static String culprit(RecordedStackTrace stackTrace) {
+            if (stackTrace == null) {
+                return "<no stack trace>";
+            }
+            for (RecordedFrame frame : stackTrace.getFrames()) {
+                String type = frame.getMethod().getType().getName();
+                if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                    return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+                }
+            }
+            return Arrays.toString(stackTrace.getFrames().stream().limit(3).toArray());
+        }
+    }
+
+    private static final class Result {
+        private final String mode;
+        private final double throughput;
+        private final double p50Millis;
+        private final double p99Millis;
+        private final double p999Millis;
+        private final long errors;
+
+        private Result(String mode, double throughput, double p50Millis, double p99Millis, double p999Millis, long errors) {
+            this.mode = mode;
+            this.throughput = throughput;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+            this.p999Millis = p999Millis;
+            this.errors = errors;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.scms.cache;
+
+import com.scms.repository.EnrollmentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CourseSeatRegistryTest {
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @InjectMocks
+    private CourseSeatRegistry courseSeatRegistry;
+
+    @Test
+    void tryReserve_NeverOversellsUnderConcurrency() throws Exception {
+        when(enrollmentRepository.countEnrollmentsByCourseIdAndStatuses(eq(1L), anyCollection())).thenReturn(0L);
+
+        int capacity = 100;
+        int requests = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < requests; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return courseSeatRegistry.tryReserve(1L, capacity);
+                }));
+            }
+            start.countDown();
+
+            int admitted = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(30, TimeUnit.SECONDS)) {
+                    admitted++;
+                }
+            }
+
+            assertEquals(capacity, admitted);
+            assertEquals(capacity, courseSeatRegistry.getHeldSeats(1L));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void tryReserve_SeedsFromDatabaseOnce() {
+        when(enrollmentRepository.countEnrollmentsByCourseIdAndStatuses(eq(1L), anyCollection())).thenReturn(29L);
+
+        assertTrue(courseSeatRegistry.tryReserve(1L, 30));
+        assertFalse(courseSeatRegistry.tryReserve(1L, 30));
+        verify(enrollmentRepository, times(1)).countEnrollmentsByCourseIdAndStatuses(eq(1L), anyCollection());
+    }
+
+    @Test
+    void release_FreesSeat() {
+        when(enrollmentRepository.countEnrollmentsByCourseIdAndStatuses(eq(1L), anyCollection())).thenReturn(30L);
+
+        assertFalse(courseSeatRegistry.tryReserve(1L, 30));
+        courseSeatRegistry.release(1L);
+
+        assertTrue(courseSeatRegistry.tryReserve(1L, 30));
+    }
+
+    @Test
+    void reconcile_CorrectsDrift() {
+        when(enrollmentRepository.countEnrollmentsByCourseIdAndStatuses(eq(1L), anyCollection())).thenReturn(10L);
+        when(enrollmentRepository.countEnrollmentsByCourseAndStatuses(anyCollection()))
+            .thenReturn(List.<Object[]>of(new Object[] {1L, 4L}));
+
+        courseSeatRegistry.tryReserve(1L, 30);
+        courseSeatRegistry.reconcile();
+
+        assertEquals(4, courseSeatRegistry.getHeldSeats(1L));
+    }
+}
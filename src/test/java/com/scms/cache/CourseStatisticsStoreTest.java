@@ -0,0 +1,123 @@
+package com.scms.cache;
+
+import com.scms.entity.Enrollment;
+import com.scms.event.CourseStatisticsEvent;
+import com.scms.repository.EnrollmentRepository;
+import com.scms.repository.GradeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CourseStatisticsStoreTest {
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private GradeRepository gradeRepository;
+
+    @InjectMocks
+    private CourseStatisticsStore courseStatistics;
+
+    @Test
+    void get_LoadsOnceThenFollowsEvents() {
+        when(enrollmentRepository.countEnrollmentsByCourseIdsGroupedByStatus(anyCollection())).thenReturn(List.of(
+            new Object[] {1L, Enrollment.EnrollmentStatus.ACTIVE, 2L},
+            new Object[] {1L, Enrollment.EnrollmentStatus.PENDING, 1L}));
+        when(gradeRepository.countScoresByCourseIds(anyCollection())).thenReturn(List.of(
+            new Object[] {1L, new BigDecimal("80.00"), 1L}));
+
+        assertEquals(2, courseStatistics.get(1L).getEnrollmentCount(Enrollment.EnrollmentStatus.ACTIVE));
+        courseStatistics.onCourseStatistics(CourseStatisticsEvent.enrollment(1L,
+            Enrollment.EnrollmentStatus.PENDING, Enrollment.EnrollmentStatus.ACTIVE));
+        courseStatistics.onCourseStatistics(CourseStatisticsEvent.grade(1L, null, new BigDecimal("90.00")));
+
+        CourseStatisticsStore.Snapshot snapshot = courseStatistics.get(1L);
+        assertEquals(3, snapshot.getEnrollmentCount(Enrollment.EnrollmentStatus.ACTIVE));
+        assertEquals(0, snapshot.getEnrollmentCount(Enrollment.EnrollmentStatus.PENDING));
+        assertEquals(2, snapshot.getGradeCount());
+        assertEquals(85.0, snapshot.getAverageScore());
+        assertEquals(5.0, snapshot.getStandardDeviation(), 1e-9);
+        verify(enrollmentRepository, times(1)).countEnrollmentsByCourseIdsGroupedByStatus(anyCollection());
+    }
+
+    @Test
+    void changedAndDeletedGrades_MoveMinAndMax() {
+        when(gradeRepository.countScoresByCourseIds(anyCollection())).thenReturn(List.of(
+            new Object[] {1L, new BigDecimal("60.00"), 1L},
+            new Object[] {1L, new BigDecimal("75.00"), 2L},
+            new Object[] {1L, new BigDecimal("95.00"), 1L}));
+        courseStatistics.get(1L);
+
+        courseStatistics.onCourseStatistics(CourseStatisticsEvent.grade(1L, new BigDecimal("95.00"), new BigDecimal("70.00")));
+        courseStatistics.onCourseStatistics(CourseStatisticsEvent.grade(1L, new BigDecimal("60.00"), null));
+
+        CourseStatisticsStore.Snapshot snapshot = courseStatistics.get(1L);
+        assertEquals(3, snapshot.getGradeCount());
+        assertEquals(0, new BigDecimal("70").compareTo(snapshot.getMinScore()));
+        assertEquals(0, new BigDecimal("75").compareTo(snapshot.getMaxScore()));
+        assertEquals(220.0 / 3, snapshot.getAverageScore(), 1e-9);
+    }
+
+    @Test
+    void getAll_LoadsMissingCoursesTogether() {
+        when(enrollmentRepository.countEnrollmentsByCourseIdsGroupedByStatus(anyCollection())).thenReturn(List.of(), List.<Object[]>of(
+            new Object[] {2L, Enrollment.EnrollmentStatus.ACTIVE, 4L}));
+        courseStatistics.get(1L);
+
+        Map<Long, CourseStatisticsStore.Snapshot> snapshots = courseStatistics.getAll(List.of(1L, 2L, 3L));
+
+        assertEquals(3, snapshots.size());
+        assertNull(snapshots.get(1L).getAverageScore());
+        assertEquals(4, snapshots.get(2L).getEnrollmentCount(Enrollment.EnrollmentStatus.ACTIVE));
+        assertEquals(0, snapshots.get(3L).getTotalEnrollments());
+        verify(enrollmentRepository, times(2)).countEnrollmentsByCourseIdsGroupedByStatus(anyCollection());
+    }
+
+    @Test
+    void onCourseStatistics_UncachedCourse_LoadedLater() {
+        courseStatistics.onCourseStatistics(CourseStatisticsEvent.enrollment(5L, null, Enrollment.EnrollmentStatus.PENDING));
+        when(enrollmentRepository.countEnrollmentsByCourseIdsGroupedByStatus(anyCollection())).thenReturn(List.<Object[]>of(
+            new Object[] {5L, Enrollment.EnrollmentStatus.PENDING, 1L}));
+
+        assertEquals(1, courseStatistics.get(5L).getEnrollmentCount(Enrollment.EnrollmentStatus.PENDING));
+    }
+
+    @Test
+    void reconcile_CorrectsDrift() {
+        when(enrollmentRepository.countEnrollmentsByCourseIdsGroupedByStatus(anyCollection())).thenReturn(List.<Object[]>of(
+            new Object[] {1L, Enrollment.EnrollmentStatus.ACTIVE, 3L}));
+        courseStatistics.get(1L);
+        when(enrollmentRepository.countEnrollmentsByCourseIdsGroupedByStatus(anyCollection())).thenReturn(List.<Object[]>of(
+            new Object[] {1L, Enrollment.EnrollmentStatus.ACTIVE, 5L}));
+        when(gradeRepository.countScoresByCourseIds(anyCollection())).thenReturn(List.<Object[]>of(
+            new Object[] {1L, new BigDecimal("88.00"), 1L}));
+
+        courseStatistics.reconcile();
+
+        CourseStatisticsStore.Snapshot snapshot = courseStatistics.get(1L);
+        assertEquals(5, snapshot.getEnrollmentCount(Enrollment.EnrollmentStatus.ACTIVE));
+        assertEquals(88.0, snapshot.getAverageScore());
+    }
+
+    @Test
+    void evict_ReloadsOnNextRead() {
+        courseStatistics.get(1L);
+
+        courseStatistics.evict(1L);
+        courseStatistics.get(1L);
+
+        verify(gradeRepository, times(2)).countScoresByCourseIds(anyCollection());
+    }
+}
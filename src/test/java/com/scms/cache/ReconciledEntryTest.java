@@ -0,0 +1,86 @@
+package com.scms.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReconciledEntryTest {
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void afterCompletion_WithoutTransaction_AppliesNow() {
+        Count count = new Count(0);
+
+        ReconciledEntry.afterCompletion(List.of(count), count.value::incrementAndGet, null);
+
+        assertEquals(1, count.value.get());
+        assertTrue(count.isSettled());
+    }
+
+    @Test
+    void afterCompletion_AppliesOnCommitAndUndoesOnRollback() {
+        Count committed = new Count(0);
+        Count rolledBack = new Count(1);
+        TransactionSynchronizationManager.initSynchronization();
+
+        ReconciledEntry.afterCompletion(List.of(committed), committed.value::incrementAndGet, null);
+        ReconciledEntry.afterCompletion(List.of(rolledBack), null, rolledBack.value::decrementAndGet);
+        assertFalse(committed.isSettled());
+        assertEquals(0, committed.value.get());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        synchronizations.get(1).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(1, committed.value.get());
+        assertEquals(0, rolledBack.value.get());
+        assertTrue(committed.isSettled());
+        assertTrue(rolledBack.isSettled());
+    }
+
+    @Test
+    void reconcile_SkipsEntriesWithChangesInFlight() {
+        Count settled = new Count(3);
+        Count pending = new Count(3);
+        TransactionSynchronizationManager.initSynchronization();
+        ReconciledEntry.afterCompletion(List.of(pending), pending.value::incrementAndGet, null);
+
+        int corrected = ReconciledEntry.reconcile(Map.of(1L, settled, 2L, pending), List.of(1L, 2L),
+            ids -> Map.of(1L, 5, 2L, 5));
+
+        assertEquals(1, corrected);
+        assertEquals(5, settled.value.get());
+        assertEquals(3, pending.value.get());
+    }
+
+    private static final class Count extends ReconciledEntry<Integer, Integer> {
+        private final AtomicInteger value;
+
+        private Count(int value) {
+            this.value = new AtomicInteger(value);
+        }
+
+        @Override
+        Integer observe() {
+            return value.get();
+        }
+
+        @Override
+        boolean replaceIfUnchanged(Integer seen, Integer actual) {
+            return !seen.equals(actual) && value.compareAndSet(seen, actual);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.scms.cache;
+
+import com.scms.event.NotificationPushEvent;
+import com.scms.repository.AdminNotificationRepository;
+import com.scms.repository.NotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UnreadNotificationCountersTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private AdminNotificationRepository adminNotificationRepository;
+
+    @InjectMocks
+    private UnreadNotificationCounters unreadCounters;
+
+    @Test
+    void get_LoadsOnceThenFollowsEvents() {
+        when(notificationRepository.countUnreadByRecipientId(1L)).thenReturn(2L);
+
+        assertEquals(2, unreadCounters.get(NotificationPushEvent.Audience.STUDENT, 1L));
+        unreadCounters.onNotificationPush(
+            NotificationPushEvent.notification(NotificationPushEvent.Audience.STUDENT, 1L, "Hello", "GENERAL"));
+        unreadCounters.onNotificationPush(NotificationPushEvent.read(NotificationPushEvent.Audience.STUDENT, 1L, 10L));
+        unreadCounters.onNotificationPush(NotificationPushEvent.read(NotificationPushEvent.Audience.STUDENT, 1L, 11L));
+
+        assertEquals(1, unreadCounters.get(NotificationPushEvent.Audience.STUDENT, 1L));
+        verify(notificationRepository, times(1)).countUnreadByRecipientId(1L);
+    }
+
+    @Test
+    void onNotificationPush_UncachedRecipient_LoadedLater() {
+        unreadCounters.onNotificationPush(
+            NotificationPushEvent.notification(NotificationPushEvent.Audience.ADMIN, 5L, "Hello", "GENERAL"));
+        when(adminNotificationRepository.countUnreadByAdminId(5L)).thenReturn(4L);
+
+        assertEquals(4, unreadCounters.get(NotificationPushEvent.Audience.ADMIN, 5L));
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void reconcile_CorrectsDrift() {
+        when(notificationRepository.countUnreadByRecipientId(1L)).thenReturn(3L);
+        when(notificationRepository.countUnreadByRecipientId(2L)).thenReturn(1L);
+        unreadCounters.get(NotificationPushEvent.Audience.STUDENT, 1L);
+        unreadCounters.get(NotificationPushEvent.Audience.STUDENT, 2L);
+        when(notificationRepository.countUnreadByRecipientIds(anyCollection()))
+            .thenReturn(List.<Object[]>of(new Object[]{1L, 5L}));
+
+        unreadCounters.reconcile();
+
+        assertEquals(5, unreadCounters.get(NotificationPushEvent.Audience.STUDENT, 1L));
+        assertEquals(0, unreadCounters.get(NotificationPushEvent.Audience.STUDENT, 2L));
+    }
+
+    @Test
+    void invalidateAll_ReloadsOnNextRead() {
+        when(notificationRepository.countUnreadByRecipientId(1L)).thenReturn(3L, 0L);
+        unreadCounters.get(NotificationPushEvent.Audience.STUDENT, 1L);
+
+        unreadCounters.invalidateAll(NotificationPushEvent.Audience.STUDENT);
+
+        assertEquals(0, unreadCounters.get(NotificationPushEvent.Audience.STUDENT, 1L));
+    }
+}
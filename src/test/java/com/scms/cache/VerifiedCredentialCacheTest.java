@@ -0,0 +1,36 @@
+package com.scms.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedCredentialCacheTest {
+
+    private final VerifiedCredentialCache cache = new VerifiedCredentialCache(60_000, 100);
+
+    @Test
+    void isVerified_SameSessionAndPassword() {
+        cache.remember("session-1", "student", "john@test.com", "password123", "$2a$10$hash");
+
+        assertTrue(cache.isVerified("session-1", "student", "john@test.com", "password123", "$2a$10$hash"));
+        assertFalse(cache.isVerified("session-2", "student", "john@test.com", "password123", "$2a$10$hash"));
+        assertFalse(cache.isVerified("session-1", "student", "john@test.com", "wrongPassword", "$2a$10$hash"));
+        assertFalse(cache.isVerified("session-1", "admin", "john@test.com", "password123", "$2a$10$hash"));
+    }
+
+    @Test
+    void isVerified_StoredHashChanged_NotVerified() {
+        cache.remember("session-1", "student", "john@test.com", "password123", "$2a$10$hash");
+
+        assertFalse(cache.isVerified("session-1", "student", "john@test.com", "password123", "$2a$12$newHash"));
+    }
+
+    @Test
+    void forget_RemovesSession() {
+        cache.remember("session-1", "student", "john@test.com", "password123", "$2a$10$hash");
+
+        cache.forget("session-1");
+
+        assertFalse(cache.isVerified("session-1", "student", "john@test.com", "password123", "$2a$10$hash"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.scms.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.destroy();
+    }
+
+    @Test
+    void matches_DelegatesOffTheCallingThread() {
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(null), 1, 1, 1000, meterRegistry);
+
+        assertTrue(encoder.matches("secret", "secret"));
+        assertFalse(encoder.matches("secret", "other"));
+    }
+
+    @Test
+    void matches_PoolSaturated_Throttled() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(started), 1, 1, 5000, meterRegistry);
+
+        // One check running, one queued: the third has nowhere to go
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "b"));
+        waitForQueued();
+
+        assertThrows(LoginThrottledException.class, () -> encoder.matches("c", "c"));
+        assertEquals(1.0, meterRegistry.counter(BoundedPasswordEncoder.THROTTLED_METRIC).count());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void matches_WaitExceedsTimeout_Throttled() {
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(null), 1, 1, 50, meterRegistry);
+
+        assertThrows(LoginThrottledException.class, () -> encoder.matches("slow", "slow"));
+    }
+
+    private void waitForQueued() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("executor.queued").tag("name", BoundedPasswordEncoder.EXECUTOR_NAME).gauge().value() < 1) {
+            assertTrue(System.nanoTime() < deadline, "second check was never queued");
+            Thread.sleep(10);
+        }
+    }
+
+    // Plaintext comparison that blocks on "slow" and signals when a check starts; stands in for BCrypt
+    private final class BlockingEncoder implements PasswordEncoder {
+        private final CountDownLatch started;
+
+        private BlockingEncoder(CountDownLatch started) {
+            this.started = started;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            if (started != null) {
+                started.countDown();
+                await();
+            } else if ("slow".contentEquals(rawPassword)) {
+                await();
+            }
+            return rawPassword.toString().equals(encodedPassword);
+        }
+
+        private void await() {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
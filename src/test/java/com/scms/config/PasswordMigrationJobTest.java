@@ -0,0 +1,74 @@
+package com.scms.config;
+
+import com.scms.entity.MigrationMarker;
+import com.scms.repository.MigrationMarkerRepository;
+import com.scms.repository.PasswordMigrationBatchRepository;
+import com.scms.repository.PasswordMigrationBatchRepository.AccountTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordMigrationJobTest {
+
+    @Mock
+    private PasswordMigrationBatchRepository passwordMigrationBatchRepository;
+
+    @Mock
+    private MigrationMarkerRepository migrationMarkerRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @InjectMocks
+    private PasswordMigrationJob passwordMigrationJob;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(passwordMigrationJob, "pageSize", 2);
+        ReflectionTestUtils.setField(passwordMigrationJob, "threads", 2);
+        when(migrationMarkerRepository.save(any(MigrationMarker.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void migrateAll_HashesOnlyPlaintextAndResumesFromMarker() {
+        MigrationMarker studentMarker = new MigrationMarker(PasswordMigrationJob.MARKER_PREFIX + "students");
+        studentMarker.setLastId(10L);
+        MigrationMarker adminMarker = new MigrationMarker(PasswordMigrationJob.MARKER_PREFIX + "administrators");
+        adminMarker.setCompletedAt(LocalDateTime.now());
+        when(migrationMarkerRepository.findById(PasswordMigrationJob.MARKER_PREFIX + "students")).thenReturn(Optional.of(studentMarker));
+        when(migrationMarkerRepository.findById(PasswordMigrationJob.MARKER_PREFIX + "administrators")).thenReturn(Optional.of(adminMarker));
+        when(passwordMigrationBatchRepository.findPage(AccountTable.STUDENTS, 10L, 2)).thenReturn(List.of(
+            new PasswordMigrationBatchRepository.Row(11L, "$2a$10$alreadyHashed"),
+            new PasswordMigrationBatchRepository.Row(12L, "plain")));
+        when(passwordMigrationBatchRepository.findPage(AccountTable.STUDENTS, 12L, 2)).thenReturn(List.of());
+        when(passwordEncoder.encode("plain")).thenReturn("$2a$10$hashed");
+        when(passwordMigrationBatchRepository.updatePasswords(eq(AccountTable.STUDENTS), anyList())).thenReturn(1);
+
+        passwordMigrationJob.migrateAll();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PasswordMigrationBatchRepository.Row>> updated = ArgumentCaptor.forClass(List.class);
+        verify(passwordMigrationBatchRepository).updatePasswords(eq(AccountTable.STUDENTS), updated.capture());
+        assertEquals(1, updated.getValue().size());
+        assertEquals(12L, updated.getValue().get(0).getId());
+        assertEquals("$2a$10$hashed", updated.getValue().get(0).getNewPassword());
+        assertEquals(12L, studentMarker.getLastId());
+        assertTrue(studentMarker.isCompleted());
+        verify(passwordMigrationBatchRepository, never()).findPage(eq(AccountTable.ADMINISTRATORS), anyLong(), anyInt());
+    }
+}
@@ -1,6 +1,7 @@
 package com.scms.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scms.dto.EnrollmentSummary;
 import com.scms.entity.Enrollment;
 import com.scms.entity.Student;
 import com.scms.entity.Course;
@@ -85,7 +86,7 @@ class EnrollmentControllerTest {
 
     @Test
     void getStudentEnrollments_Success() throws Exception {
-        when(enrollmentService.getStudentEnrollments(1L)).thenReturn(Arrays.asList(testEnrollment));
+        when(enrollmentService.getStudentEnrollmentsAfter(1L, 0L, 100)).thenReturn(Arrays.asList(EnrollmentSummary.from(testEnrollment)));
 
         mockMvc.perform(get("/api/enrollments/student/1"))
                 .andExpect(status().isOk())
@@ -95,11 +96,13 @@ class EnrollmentControllerTest {
 
     @Test
     void getCourseEnrollments_Success() throws Exception {
-        when(enrollmentService.getCourseEnrollments(1L)).thenReturn(Arrays.asList(testEnrollment));
+        when(enrollmentService.getCourseEnrollmentsAfter(1L, 0L, 100)).thenReturn(Arrays.asList(EnrollmentSummary.from(testEnrollment)));
 
         mockMvc.perform(get("/api/enrollments/course/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].studentId").value(1))
+                .andExpect(jsonPath("$[0].courseId").value(1))
                 .andExpect(jsonPath("$[0].status").value("ACTIVE"));
     }
 
@@ -1,6 +1,7 @@
 package com.scms.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scms.dto.GradeSummary;
 import com.scms.entity.Grade;
 import com.scms.entity.Student;
 import com.scms.entity.Course;
@@ -96,7 +97,7 @@ class GradeControllerTest {
 
     @Test
     void getStudentGrades_Success() throws Exception {
-        when(gradeService.getStudentGrades(1L)).thenReturn(Arrays.asList(testGrade));
+        when(gradeService.getStudentGradesAfter(1L, 0L, 100)).thenReturn(Arrays.asList(GradeSummary.from(testGrade)));
 
         mockMvc.perform(get("/api/grades/student/1"))
                 .andExpect(status().isOk())
@@ -106,7 +107,7 @@ class GradeControllerTest {
 
     @Test
     void getCourseGrades_Success() throws Exception {
-        when(gradeService.getCourseGrades(1L)).thenReturn(Arrays.asList(testGrade));
+        when(gradeService.getCourseGradesAfter(1L, 0L, 100)).thenReturn(Arrays.asList(GradeSummary.from(testGrade)));
 
         mockMvc.perform(get("/api/grades/course/1"))
                 .andExpect(status().isOk())
@@ -116,12 +117,15 @@ class GradeControllerTest {
 
     @Test
     void getStudentCourseGrade_Success() throws Exception {
-        when(gradeService.getGrade(1L, 1L)).thenReturn(Optional.of(testGrade));
+        when(gradeService.getGrade(1L, 1L)).thenReturn(Optional.of(GradeSummary.from(testGrade)));
 
         mockMvc.perform(get("/api/grades/student/1/course/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1))
-                .andExpect(jsonPath("$.score").value(85.5));
+                .andExpect(jsonPath("$.score").value(85.5))
+                .andExpect(jsonPath("$.studentId").value(1))
+                .andExpect(jsonPath("$.courseId").value(1))
+                .andExpect(jsonPath("$.letterGrade").value("B"));
     }
 
     @Test
@@ -1,12 +1,16 @@
 package com.scms.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scms.dto.StudentSummary;
 import com.scms.entity.Student;
 import com.scms.service.StudentService;
 import com.scms.service.EnrollmentService;
 import com.scms.service.GradeService;
 import com.scms.service.NotificationService;
 import com.scms.config.TestSecurityConfig;
+import com.scms.event.NotificationPushEvent;
+import com.scms.event.NotificationPushRegistry;
+import com.scms.event.NotificationStreamLimitException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,11 +19,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Arrays;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -42,6 +48,9 @@ class StudentControllerTest {
     
     @MockBean
     private NotificationService notificationService;
+    
+    @MockBean
+    private NotificationPushRegistry notificationPushRegistry;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -68,7 +77,8 @@ class StudentControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.name").value("John Doe"))
-                .andExpect(jsonPath("$.email").value("john@test.com"));
+                .andExpect(jsonPath("$.email").value("john@test.com"))
+                .andExpect(jsonPath("$.password").doesNotExist());
     }
 
     @Test
@@ -98,18 +108,35 @@ class StudentControllerTest {
 
     @Test
     void getAllStudents_Success() throws Exception {
-        when(studentService.getAllStudents()).thenReturn(Arrays.asList(testStudent));
+        when(studentService.getStudentsAfter(0L, 100)).thenReturn(Arrays.asList(StudentSummary.from(testStudent)));
 
         mockMvc.perform(get("/api/students"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[0].name").value("John Doe"))
-                .andExpect(jsonPath("$[0].email").value("john@test.com"));
+                .andExpect(jsonPath("$[0].email").value("john@test.com"))
+                .andExpect(jsonPath("$[0].password").doesNotExist());
+    }
+
+    @Test
+    void getAllStudents_FullPage_ReturnsNextCursor() throws Exception {
+        when(studentService.getStudentsAfter(0L, 1)).thenReturn(Arrays.asList(StudentSummary.from(testStudent)));
+
+        mockMvc.perform(get("/api/students").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "1"));
+    }
+
+    @Test
+    void getAllStudents_InvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/students").param("cursor", "abc"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
     void getStudentById_Success() throws Exception {
-        when(studentService.getStudentById(1L)).thenReturn(Optional.of(testStudent));
+        when(studentService.getStudentSummary(1L)).thenReturn(Optional.of(StudentSummary.from(testStudent)));
 
         mockMvc.perform(get("/api/students/1"))
                 .andExpect(status().isOk())
@@ -120,7 +147,7 @@ class StudentControllerTest {
 
     @Test
     void getStudentById_NotFound() throws Exception {
-        when(studentService.getStudentById(999L)).thenReturn(Optional.empty());
+        when(studentService.getStudentSummary(999L)).thenReturn(Optional.empty());
 
         mockMvc.perform(get("/api/students/999"))
                 .andExpect(status().isNotFound());
@@ -144,4 +171,33 @@ class StudentControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value("Student deleted successfully"));
     }
+
+    @Test
+    void streamNotifications_SubscribesWithUnreadCount() throws Exception {
+        when(studentService.getStudentSummary(1L)).thenReturn(Optional.of(StudentSummary.from(testStudent)));
+        when(notificationService.getUnreadCount(1L)).thenReturn(3L);
+        when(notificationPushRegistry.subscribe(NotificationPushEvent.Audience.STUDENT, 1L, 3L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/students/1/notifications/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void streamNotifications_RegistryFull_Returns503() throws Exception {
+        when(studentService.getStudentSummary(1L)).thenReturn(Optional.of(StudentSummary.from(testStudent)));
+        when(notificationPushRegistry.subscribe(NotificationPushEvent.Audience.STUDENT, 1L, 0L))
+                .thenThrow(new NotificationStreamLimitException("Too many open notification streams"));
+
+        mockMvc.perform(get("/api/students/1/notifications/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void streamNotifications_UnknownStudent_Returns404() throws Exception {
+        when(studentService.getStudentSummary(999L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/students/999/notifications/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isNotFound());
+        verifyNoInteractions(notificationPushRegistry);
+    }
 }
@@ -0,0 +1,46 @@
+package com.scms.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationPushRegistryTest {
+
+    private NotificationPushRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new NotificationPushRegistry();
+        ReflectionTestUtils.setField(registry, "timeoutMillis", 60_000L);
+        ReflectionTestUtils.setField(registry, "maxConnections", 2);
+    }
+
+    @Test
+    void subscribe_TracksConnectionsPerRecipient() {
+        SseEmitter first = registry.subscribe(NotificationPushEvent.Audience.STUDENT, 1L, 3L);
+        SseEmitter second = registry.subscribe(NotificationPushEvent.Audience.STUDENT, 1L, 3L);
+
+        assertNotSame(first, second);
+        assertEquals(2, registry.getConnectionCount());
+        assertDoesNotThrow(() -> registry.push(
+            NotificationPushEvent.notification(NotificationPushEvent.Audience.STUDENT, 1L, "Hello", "GENERAL")));
+    }
+
+    @Test
+    void subscribe_OverLimit_Rejected() {
+        registry.subscribe(NotificationPushEvent.Audience.STUDENT, 1L, 0L);
+        registry.subscribe(NotificationPushEvent.Audience.ADMIN, 1L, 0L);
+
+        assertThrows(NotificationStreamLimitException.class, () -> registry.subscribe(NotificationPushEvent.Audience.STUDENT, 2L, 0L));
+        assertEquals(2, registry.getConnectionCount());
+    }
+
+    @Test
+    void push_WithoutSubscribers_IsNoOp() {
+        assertDoesNotThrow(() -> registry.push(NotificationPushEvent.unreadCount(NotificationPushEvent.Audience.ADMIN, 5L, 0)));
+        assertEquals(0, registry.getConnectionCount());
+    }
+}
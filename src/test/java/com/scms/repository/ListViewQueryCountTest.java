@@ -0,0 +1,129 @@
+package com.scms.repository;
+
+import com.scms.entity.Course;
+import com.scms.entity.Enrollment;
+import com.scms.entity.Grade;
+import com.scms.entity.Student;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Fails when a list page query stops fetching what its template renders on every row,
+// so that rendering the page costs one lazy-loading query per row
+@DataJpaTest(properties = {"spring.profiles.active=test", "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ListViewQueryCountTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    // admin/enrollments.html
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 40})
+    void allEnrollments_OneQueryPerRender(int rows) {
+        seedOneEnrollmentAndGradePerStudent(rows);
+
+        long queries = countQueries(() -> {
+            List<Enrollment> enrollments = enrollmentRepository.findAllWithStudentAndCourse();
+            assertEquals(rows, enrollments.size());
+            enrollments.forEach(e -> render(e.getStudent().getName(), e.getCourse().getTitle()));
+        });
+
+        assertEquals(1, queries);
+    }
+
+    // admin/grades.html
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 40})
+    void allGrades_OneQueryPerRender(int rows) {
+        seedOneEnrollmentAndGradePerStudent(rows);
+
+        long queries = countQueries(() -> {
+            List<Grade> grades = gradeRepository.findAllWithStudentAndCourse();
+            assertEquals(rows, grades.size());
+            grades.forEach(g -> render(g.getStudent().getName(), g.getCourse().getTitle()));
+        });
+
+        assertEquals(1, queries);
+    }
+
+    // student/dashboard.html, student/courses.html, student/grades.html; the student is already loaded
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 40})
+    void studentEnrollmentsAndGrades_OneQueryEachPerRender(int rows) {
+        Long studentId = seedOneStudentInCourses(rows);
+
+        long queries = countQueries(() -> {
+            Student student = entityManager.find(Student.class, studentId);
+            List<Enrollment> enrollments = enrollmentRepository.findByStudentWithCourse(student);
+            List<Grade> grades = gradeRepository.findByStudentWithCourse(student);
+            assertEquals(rows, enrollments.size());
+            assertEquals(rows, grades.size());
+            enrollments.forEach(e -> render(e.getStudent().getName(), e.getCourse().getTitle()));
+            grades.forEach(g -> render(g.getStudent().getName(), g.getCourse().getTitle()));
+        });
+
+        assertEquals(3, queries);
+    }
+
+    private void seedOneEnrollmentAndGradePerStudent(int rows) {
+        for (int i = 0; i < rows; i++) {
+            Student student = persist(new Student("Student " + i, "student" + i + "@example.com", "password"));
+            Course course = persist(new Course("Course " + i, "Description", 30, "None"));
+            persist(new Enrollment(student, course));
+            persist(new Grade(student, course, new BigDecimal("80.00")));
+        }
+        detachAll();
+    }
+
+    private Long seedOneStudentInCourses(int rows) {
+        Student student = persist(new Student("Student", "student@example.com", "password"));
+        for (int i = 0; i < rows; i++) {
+            Course course = persist(new Course("Course " + i, "Description", 30, "None"));
+            persist(new Enrollment(student, course));
+            persist(new Grade(student, course, new BigDecimal("80.00")));
+        }
+        detachAll();
+        return student.getId();
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    // Nothing may come from the persistence context or the second-level cache, or a per-row query would go unnoticed
+    private void detachAll() {
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+    }
+
+    private long countQueries(Runnable render) {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        render.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void render(String studentName, String courseTitle) {
+        assertNotNull(studentName);
+        assertNotNull(courseTitle);
+    }
+}
@@ -0,0 +1,119 @@
+package com.scms.repository;
+
+import com.scms.entity.Administrator;
+import com.scms.entity.Course;
+import com.scms.entity.Enrollment;
+import com.scms.entity.Student;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Fails when one of the per-request lookups stops using an index and falls back to a full table scan.
+// The SQL Hibernate generates for each repository call is captured and EXPLAINed as is, parameters unbound.
+@DataJpaTest(properties = {"spring.profiles.active=test",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.scms.repository.QueryPlanTest$CapturedSql"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class QueryPlanTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private AdminNotificationRepository adminNotificationRepository;
+
+    @Test
+    void hotQueries_UseAnIndex() {
+        Student student = entityManager.getReference(Student.class, 1L);
+        Course course = entityManager.getReference(Course.class, 1L);
+        Administrator admin = entityManager.getReference(Administrator.class, 1L);
+
+        // Repository call -> table it must not scan
+        Map<String, String> failures = new LinkedHashMap<>();
+        check(failures, "EnrollmentRepository.findByStudentAndCourse", "enrollments",
+            () -> enrollmentRepository.findByStudentAndCourse(student, course));
+        check(failures, "GradeRepository.findByStudentAndCourse", "grades",
+            () -> gradeRepository.findByStudentAndCourse(student, course));
+        check(failures, "EnrollmentRepository.findByStatus", "enrollments",
+            () -> enrollmentRepository.findByStatus(Enrollment.EnrollmentStatus.PENDING));
+        // Lists every course, but the grouped full-course subquery must read enrollments through the status index
+        check(failures, "CourseRepository.findFullCourses", "enrollments",
+            () -> courseRepository.findFullCourses());
+        check(failures, "NotificationRepository.findByRecipientOrderBySentDateDesc", "notifications",
+            () -> notificationRepository.findByRecipientOrderBySentDateDesc(student));
+        check(failures, "NotificationRepository.countUnreadNotificationsByRecipient", "notifications",
+            () -> notificationRepository.countUnreadNotificationsByRecipient(student));
+        check(failures, "AdminNotificationRepository.findByAdminAndReadFalseOrderBySentDateDesc", "admin_notifications",
+            () -> adminNotificationRepository.findByAdminAndReadFalseOrderBySentDateDesc(admin));
+        check(failures, "AdminNotificationRepository.countUnreadByAdmin", "admin_notifications",
+            () -> adminNotificationRepository.countUnreadByAdmin(admin));
+
+        assertTrue(failures.isEmpty(), () -> String.join("\n\n", failures.values()));
+    }
+
+    private void check(Map<String, String> failures, String name, String table, Runnable call) {
+        CapturedSql.statements.clear();
+        call.run();
+        List<String> statements = new ArrayList<>(CapturedSql.statements);
+        if (statements.isEmpty()) {
+            failures.put(name, name + ": no SQL was executed");
+            return;
+        }
+        for (String sql : statements) {
+            String plan = explain(sql);
+            if (plan.toUpperCase().contains(table.toUpperCase() + ".TABLESCAN")) {
+                failures.put(name, name + ": full scan of " + table + "\n" + sql + "\n" + plan);
+            }
+        }
+    }
+
+    private String explain(String sql) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet plan = explain.executeQuery()) {
+                StringBuilder text = new StringBuilder();
+                while (plan.next()) {
+                    text.append(plan.getString(1)).append('\n');
+                }
+                return text.toString();
+            }
+        });
+    }
+
+    // Registered through hibernate.session_factory.statement_inspector; records every statement unchanged
+    public static class CapturedSql implements StatementInspector {
+
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.scms.service;
+
+import com.scms.entity.AdminNotification;
+import com.scms.entity.Course;
+import com.scms.entity.Enrollment;
+import com.scms.entity.Student;
+import com.scms.event.AdminBroadcastEvent;
+import com.scms.repository.AdminNotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminNotificationServiceTest {
+
+    @Mock
+    private AdminNotificationRepository adminNotificationRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private AdminNotificationService adminNotificationService;
+
+    private Enrollment enrollment;
+
+    @BeforeEach
+    void setUp() {
+        Student student = new Student();
+        student.setId(1L);
+        student.setName("John Doe");
+
+        Course course = new Course();
+        course.setId(1L);
+        course.setTitle("Computer Science 101");
+
+        enrollment = new Enrollment();
+        enrollment.setId(7L);
+        enrollment.setStudent(student);
+        enrollment.setCourse(course);
+    }
+
+    @Test
+    void notifyPendingEnrollmentRequest_PublishesBroadcastInsteadOfSaving() {
+        adminNotificationService.notifyPendingEnrollmentRequest(enrollment);
+
+        ArgumentCaptor<AdminBroadcastEvent> captor = ArgumentCaptor.forClass(AdminBroadcastEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        AdminBroadcastEvent event = captor.getValue();
+        assertEquals(AdminNotification.AdminNotificationType.PENDING_ENROLLMENT_REQUEST, event.getType());
+        assertEquals(7L, event.getRelatedEntityId());
+        assertEquals("New enrollment request from John Doe for course: Computer Science 101", event.getMessage());
+        verifyNoInteractions(adminNotificationRepository);
+    }
+
+    @Test
+    void notifyWithdrawalRequest_PublishesBroadcast() {
+        adminNotificationService.notifyWithdrawalRequest(enrollment);
+
+        ArgumentCaptor<AdminBroadcastEvent> captor = ArgumentCaptor.forClass(AdminBroadcastEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(AdminNotification.AdminNotificationType.WITHDRAWAL_APPROVED, captor.getValue().getType());
+        verifyNoInteractions(adminNotificationRepository);
+    }
+}
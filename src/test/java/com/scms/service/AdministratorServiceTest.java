@@ -0,0 +1,100 @@
+package com.scms.service;
+
+import com.scms.cache.CourseStatisticsStore;
+import com.scms.entity.Enrollment;
+import com.scms.repository.CourseRepository;
+import com.scms.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdministratorServiceTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private CourseStatisticsStore courseStatistics;
+
+    @InjectMocks
+    private AdministratorService administratorService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void generateEnrollmentReport_FromCourseStatistics() {
+        CourseStatisticsStore.Snapshot databases = mock(CourseStatisticsStore.Snapshot.class);
+        when(databases.getEnrollmentCount(Enrollment.EnrollmentStatus.ACTIVE)).thenReturn(25L);
+        when(databases.getTotalEnrollments()).thenReturn(28L);
+        CourseStatisticsStore.Snapshot compilers = mock(CourseStatisticsStore.Snapshot.class);
+        when(compilers.getTotalEnrollments()).thenReturn(3L);
+        when(courseRepository.findReportRows()).thenReturn(List.of(
+            new Object[] {1L, "Databases", 30},
+            new Object[] {2L, "Compilers", 20}));
+        when(courseStatistics.getAll(List.of(1L, 2L))).thenReturn(Map.of(1L, databases, 2L, compilers));
+        when(studentRepository.count()).thenReturn(40L);
+
+        Map<String, Object> report = administratorService.generateEnrollmentReport();
+
+        assertEquals(2, report.get("totalCourses"));
+        assertEquals(31L, report.get("totalEnrollments"));
+        Map<String, Object> stats = (Map<String, Object>) report.get("courseEnrollmentStats");
+        assertEquals(Map.of("capacity", 30, "enrolled", 25L, "available", 5L), stats.get("Databases"));
+        assertEquals(Map.of("capacity", 20, "enrolled", 0L, "available", 20L), stats.get("Compilers"));
+    }
+
+    @Test
+    void generateEnrollmentReport_SharedTitle_CountsEveryCourse() {
+        CourseStatisticsStore.Snapshot snapshot = mock(CourseStatisticsStore.Snapshot.class);
+        when(courseRepository.findReportRows()).thenReturn(List.of(
+            new Object[] {1L, "Databases", 30},
+            new Object[] {2L, "Databases", 20}));
+        when(courseStatistics.getAll(List.of(1L, 2L))).thenReturn(Map.of(1L, snapshot, 2L, snapshot));
+
+        Map<String, Object> report = administratorService.generateEnrollmentReport();
+
+        assertEquals(2, report.get("totalCourses"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void generateGradeReport_FromCourseStatistics() {
+        CourseStatisticsStore.Snapshot databases = mock(CourseStatisticsStore.Snapshot.class);
+        when(databases.getGradeCount()).thenReturn(2L);
+        when(databases.getAverageScore()).thenReturn(85.0);
+        when(databases.getMinScore()).thenReturn(new BigDecimal("80.00"));
+        when(databases.getMaxScore()).thenReturn(new BigDecimal("90.00"));
+        when(databases.getStandardDeviation()).thenReturn(5.0);
+        CourseStatisticsStore.Snapshot compilers = mock(CourseStatisticsStore.Snapshot.class);
+        when(courseRepository.findReportRows()).thenReturn(List.of(
+            new Object[] {1L, "Databases", 30},
+            new Object[] {2L, "Compilers", 20}));
+        when(courseStatistics.getAll(List.of(1L, 2L))).thenReturn(Map.of(1L, databases, 2L, compilers));
+
+        Map<String, Object> report = administratorService.generateGradeReport();
+
+        assertEquals(2L, report.get("totalGrades"));
+        Map<String, Object> stats = (Map<String, Object>) report.get("courseGradeStats");
+        Map<String, Object> databasesStats = (Map<String, Object>) stats.get("Databases");
+        assertEquals(85.0, databasesStats.get("averageGrade"));
+        assertEquals(80.0, databasesStats.get("minGrade"));
+        assertEquals(90.0, databasesStats.get("maxGrade"));
+        assertEquals(5.0, databasesStats.get("standardDeviation"));
+        Map<String, Object> compilersStats = (Map<String, Object>) stats.get("Compilers");
+        assertEquals(0L, compilersStats.get("totalGrades"));
+        assertEquals(0.0, compilersStats.get("averageGrade"));
+        assertEquals(0.0, compilersStats.get("standardDeviation"));
+    }
+}
@@ -1,5 +1,6 @@
 package com.scms.service;
 
+import com.scms.cache.CourseSeatRegistry;
 import com.scms.entity.Course;
 import com.scms.repository.CourseRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,6 +24,12 @@ class CourseServiceTest {
     @Mock
     private CourseRepository courseRepository;
 
+    @Mock
+    private CourseSeatRegistry courseSeatRegistry;
+
+    @Mock
+    private GpaAggregateService gpaAggregateService;
+
     @InjectMocks
     private CourseService courseService;
 
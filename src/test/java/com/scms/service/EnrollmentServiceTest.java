@@ -1,5 +1,6 @@
 package com.scms.service;
 
+import com.scms.cache.CourseSeatRegistry;
 import com.scms.entity.Enrollment;
 import com.scms.entity.Student;
 import com.scms.entity.Course;
@@ -7,20 +8,31 @@ import com.scms.repository.EnrollmentRepository;
 import com.scms.repository.StudentRepository;
 import com.scms.repository.CourseRepository;
 import com.scms.repository.NotificationRepository;
+import com.scms.repository.NotificationBatchRepository;
+import com.scms.repository.AdminNotificationBatchRepository;
+import com.scms.entity.Administrator;
+import com.scms.entity.AdminNotification;
+import com.scms.entity.Notification;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +50,24 @@ class EnrollmentServiceTest {
     @Mock
     private NotificationRepository notificationRepository;
 
+    @Mock
+    private AdminNotificationService adminNotificationService;
+
+    @Mock
+    private CourseSeatRegistry courseSeatRegistry;
+
+    @Mock
+    private NotificationBatchRepository notificationBatchRepository;
+
+    @Mock
+    private AdminNotificationBatchRepository adminNotificationBatchRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private EnrollmentService enrollmentService;
 
@@ -68,14 +98,14 @@ class EnrollmentServiceTest {
     @Test
     void getStudentEnrollments_Success() {
         when(studentRepository.findById(1L)).thenReturn(Optional.of(testStudent));
-        when(enrollmentRepository.findByStudent(testStudent)).thenReturn(Arrays.asList(testEnrollment));
+        when(enrollmentRepository.findByStudentWithCourse(testStudent)).thenReturn(Arrays.asList(testEnrollment));
 
         List<Enrollment> result = enrollmentService.getStudentEnrollments(1L);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(testEnrollment, result.get(0));
-        verify(enrollmentRepository).findByStudent(testStudent);
+        verify(enrollmentRepository).findByStudentWithCourse(testStudent);
     }
 
     @Test
@@ -93,14 +123,14 @@ class EnrollmentServiceTest {
 
     @Test
     void getAllEnrollments_Success() {
-        when(enrollmentRepository.findAll()).thenReturn(Arrays.asList(testEnrollment));
+        when(enrollmentRepository.findAllWithStudentAndCourse()).thenReturn(Arrays.asList(testEnrollment));
 
         List<Enrollment> result = enrollmentService.getAllEnrollments();
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(testEnrollment, result.get(0));
-        verify(enrollmentRepository).findAll();
+        verify(enrollmentRepository).findAllWithStudentAndCourse();
     }
 
     @Test
@@ -126,4 +156,84 @@ class EnrollmentServiceTest {
         assertFalse(result);
         verify(enrollmentRepository).findByStudentAndCourse(testStudent, testCourse);
     }
+
+    @Test
+    void enrollStudent_CourseFull() {
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(testStudent));
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(testCourse));
+        when(enrollmentRepository.findByStudentAndCourse(testStudent, testCourse)).thenReturn(Optional.empty());
+        when(courseSeatRegistry.tryReserve(1L, 30)).thenReturn(false);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> enrollmentService.enrollStudent(1L, 1L));
+
+        assertEquals("Course is full", exception.getMessage());
+        verify(enrollmentRepository, never()).save(any(Enrollment.class));
+    }
+
+    @Test
+    void enrollStudent_ReservesSeat() {
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(testStudent));
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(testCourse));
+        when(enrollmentRepository.findByStudentAndCourse(testStudent, testCourse)).thenReturn(Optional.empty());
+        when(courseSeatRegistry.tryReserve(1L, 30)).thenReturn(true);
+        when(enrollmentRepository.save(any(Enrollment.class))).thenReturn(testEnrollment);
+
+        Enrollment result = enrollmentService.enrollStudent(1L, 1L);
+
+        assertEquals(testEnrollment, result);
+        verify(courseSeatRegistry).tryReserve(1L, 30);
+        verify(adminNotificationService).notifyPendingEnrollmentRequest(testEnrollment);
+    }
+
+    @Test
+    void approveEnrollments_ReportsEachId() {
+        ReflectionTestUtils.setField(enrollmentService, "approvalChunkSize", 500);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        Administrator admin = new Administrator();
+        admin.setId(9L);
+        // Both pending enrollments already hold one of the seats, so neither is refused
+        testCourse.setCapacity(2);
+        Enrollment first = pendingEnrollment(10L);
+        Enrollment second = pendingEnrollment(11L);
+        when(enrollmentRepository.findWithStudentAndCourseByIdIn(List.of(10L, 11L, 12L, 1L)))
+            .thenReturn(List.of(first, second, testEnrollment));
+        when(enrollmentRepository.updateStatus(List.of(10L, 11L), Enrollment.EnrollmentStatus.PENDING, Enrollment.EnrollmentStatus.ACTIVE))
+            .thenReturn(2);
+
+        EnrollmentApprovalResult result = enrollmentService.approveEnrollments(List.of(10L, 11L, 12L, 1L, 10L), admin);
+
+        assertEquals(2, result.getApproved());
+        assertEquals(List.of(EnrollmentApprovalResult.Status.APPROVED, EnrollmentApprovalResult.Status.APPROVED,
+                EnrollmentApprovalResult.Status.NOT_FOUND, EnrollmentApprovalResult.Status.NOT_PENDING),
+            result.getOutcomes().stream().map(EnrollmentApprovalResult.Outcome::getStatus).toList());
+        verify(notificationBatchRepository).insert(argThat(rows -> rows.size() == 2),
+            eq(Notification.NotificationType.ENROLLMENT), any(LocalDateTime.class));
+        verify(adminNotificationBatchRepository).insertForAdmin(eq(9L), argThat(messages -> messages.keySet().equals(Set.of(10L, 11L))),
+            eq(AdminNotification.AdminNotificationType.ENROLLMENT_APPROVED), eq("ENROLLMENT"), any(LocalDateTime.class));
+        verify(courseSeatRegistry, never()).forceReserve(any());
+    }
+
+    @Test
+    void approveEnrollments_ConcurrentChangeFailsChunk() {
+        ReflectionTestUtils.setField(enrollmentService, "approvalChunkSize", 500);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(enrollmentRepository.findWithStudentAndCourseByIdIn(List.of(10L))).thenReturn(List.of(pendingEnrollment(10L)));
+        when(enrollmentRepository.updateStatus(List.of(10L), Enrollment.EnrollmentStatus.PENDING, Enrollment.EnrollmentStatus.ACTIVE))
+            .thenReturn(0);
+
+        EnrollmentApprovalResult result = enrollmentService.approveEnrollments(List.of(10L), new Administrator());
+
+        assertEquals(0, result.getApproved());
+        assertEquals(EnrollmentApprovalResult.Status.FAILED, result.getOutcomes().get(0).getStatus());
+        verify(notificationBatchRepository, never()).insert(any(), any(), any());
+    }
+
+    private Enrollment pendingEnrollment(Long id) {
+        Enrollment enrollment = new Enrollment(testStudent, testCourse);
+        enrollment.setId(id);
+        return enrollment;
+    }
 }
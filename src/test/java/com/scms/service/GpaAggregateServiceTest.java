@@ -0,0 +1,107 @@
+package com.scms.service;
+
+import com.scms.entity.StudentGpaAggregate;
+import com.scms.repository.GradeRepository;
+import com.scms.repository.StudentGpaAggregateRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GpaAggregateServiceTest {
+
+    @Mock
+    private StudentGpaAggregateRepository aggregateRepository;
+
+    @Mock
+    private GradeRepository gradeRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private GpaAggregateService gpaAggregateService;
+
+    @Test
+    void recordChange_AppliesDeltaForRegrade() {
+        when(aggregateRepository.applyDelta(1L, -10L, new BigDecimal("-10.0"), 0L)).thenReturn(1);
+
+        // 95 -> 85 moves the grade from 4.0 to 3.0
+        gpaAggregateService.recordChange(1L, new BigDecimal("95.0"), new BigDecimal("85.0"));
+
+        verify(aggregateRepository).applyDelta(1L, -10L, new BigDecimal("-10.0"), 0L);
+        verify(aggregateRepository, never()).save(any());
+    }
+
+    @Test
+    void recordChange_RebuildsWhenAggregateMissing() {
+        when(aggregateRepository.applyDelta(eq(1L), anyLong(), any(BigDecimal.class), anyLong())).thenReturn(0);
+        when(gradeRepository.findScoresByStudentIds(anyCollection()))
+            .thenReturn(List.<Object[]>of(new Object[] {1L, new BigDecimal("91.0")}));
+
+        gpaAggregateService.recordChange(1L, null, new BigDecimal("91.0"));
+
+        verify(jdbcTemplate).update(anyString(), eq(1L), eq(37L), eq(new BigDecimal("91.0")), eq(1L));
+        verify(aggregateRepository, times(1)).applyDelta(eq(1L), anyLong(), any(BigDecimal.class), anyLong());
+    }
+
+    @Test
+    void recordChange_ConcurrentFirstGrade_AppliesDeltaToInsertedRow() {
+        when(aggregateRepository.applyDelta(1L, 37L, new BigDecimal("91.0"), 1L)).thenReturn(0, 1);
+        when(gradeRepository.findScoresByStudentIds(anyCollection()))
+            .thenReturn(List.<Object[]>of(new Object[] {1L, new BigDecimal("91.0")}));
+        when(jdbcTemplate.update(anyString(), eq(1L), eq(37L), eq(new BigDecimal("91.0")), eq(1L)))
+            .thenThrow(new DuplicateKeyException("student_gpa_aggregates"));
+
+        gpaAggregateService.recordChange(1L, null, new BigDecimal("91.0"));
+
+        verify(aggregateRepository, times(2)).applyDelta(1L, 37L, new BigDecimal("91.0"), 1L);
+    }
+
+    @Test
+    void recordChanges_BatchesExistingAndRebuildsMissing() {
+        when(aggregateRepository.findExistingStudentIds(anyCollection())).thenReturn(List.of(1L));
+        when(gradeRepository.findScoresByStudentIds(anyCollection()))
+            .thenReturn(List.<Object[]>of(new Object[] {2L, new BigDecimal("75.0")}));
+
+        gpaAggregateService.recordChanges(List.of(
+            new GpaAggregateService.ScoreChange(1L, null, new BigDecimal("95.0")),
+            new GpaAggregateService.ScoreChange(1L, new BigDecimal("60.0"), new BigDecimal("85.0")),
+            new GpaAggregateService.ScoreChange(2L, null, new BigDecimal("75.0"))));
+
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<Object[]> rows) ->
+            rows.size() == 1 && rows.get(0)[0].equals(63L) && rows.get(0)[2].equals(1L) && rows.get(0)[3].equals(1L)));
+        verify(jdbcTemplate).update(anyString(), eq(2L), eq(23L), eq(new BigDecimal("75.0")), eq(1L));
+        verify(aggregateRepository, never()).applyDelta(eq(2L), anyLong(), any(BigDecimal.class), anyLong());
+    }
+
+    @Test
+    void getGpa_ReadsFromAggregate() {
+        when(aggregateRepository.findById(1L))
+            .thenReturn(Optional.of(new StudentGpaAggregate(1L, 77, new BigDecimal("186.5"), 2)));
+
+        assertEquals(new BigDecimal("3.85"), gpaAggregateService.getGpa(1L));
+    }
+
+    @Test
+    void getGpa_NoAggregate_ReturnsZero() {
+        when(aggregateRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertEquals(BigDecimal.ZERO, gpaAggregateService.getGpa(2L));
+    }
+}
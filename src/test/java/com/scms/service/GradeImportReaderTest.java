@@ -0,0 +1,76 @@
+package com.scms.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradeImportReaderTest {
+
+    @Test
+    void next_ParsesCsvWithQuotedComments() throws IOException {
+        GradeImportReader reader = new GradeImportReader(new StringReader(
+            "courseId,studentId,score,comments\n" +
+            "2,1,91.5,\"Great work, \"\"really\"\"\"\n" +
+            "\n" +
+            "3,1,70,\n"), GradeImportReader.Format.CSV);
+
+        GradeImportReader.Row first = reader.next();
+        assertEquals(2, first.getLineNumber());
+        assertEquals(1L, first.getStudentId());
+        assertEquals(2L, first.getCourseId());
+        assertEquals(new BigDecimal("91.5"), first.getScore());
+        assertEquals("Great work, \"really\"", first.getComments());
+
+        GradeImportReader.Row second = reader.next();
+        assertEquals(4, second.getLineNumber());
+        assertNull(second.getComments());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void next_ReportsMalformedRowsWithLineNumbers() throws IOException {
+        GradeImportReader reader = new GradeImportReader(new StringReader(
+            "studentId,courseId,score\n" +
+            "1,x,90\n" +
+            "1,2\n"), GradeImportReader.Format.CSV);
+
+        GradeImportReader.Row invalidNumber = reader.next();
+        assertEquals(2, invalidNumber.getLineNumber());
+        assertNotNull(invalidNumber.getError());
+
+        GradeImportReader.Row missingScore = reader.next();
+        assertEquals(3, missingScore.getLineNumber());
+        assertEquals("Missing value for score", missingScore.getError());
+    }
+
+    @Test
+    void next_RejectsCsvWithoutRequiredHeader() {
+        GradeImportReader reader = new GradeImportReader(new StringReader("id,score\n1,90\n"), GradeImportReader.Format.CSV);
+
+        assertThrows(RuntimeException.class, reader::next);
+    }
+
+    @Test
+    void next_ParsesNdjson() throws IOException {
+        GradeImportReader reader = new GradeImportReader(new StringReader(
+            "{\"studentId\":1,\"courseId\":2,\"score\":88.25,\"comments\":\"ok\"}\n" +
+            "{\"studentId\":1,\"courseId\":\"two\",\"score\":88}\n" +
+            "not json\n"), GradeImportReader.Format.NDJSON);
+
+        GradeImportReader.Row row = reader.next();
+        assertEquals(new BigDecimal("88.25"), row.getScore());
+        assertEquals("ok", row.getComments());
+        assertNotNull(reader.next().getError());
+        assertEquals("Invalid JSON", reader.next().getError());
+    }
+
+    @Test
+    void splitCsv_KeepsEmptyTrailingField() {
+        assertEquals(List.of("1", "2", ""), GradeImportReader.splitCsv("1,2,"));
+    }
+}
@@ -1,6 +1,12 @@
 package com.scms.service;
 
+import com.scms.cache.CourseSeatRegistry;
+import com.scms.cache.VerifiedCredentialCache;
+import com.scms.entity.Course;
+import com.scms.entity.Enrollment;
 import com.scms.entity.Student;
+import com.scms.repository.EnrollmentRepository;
+import com.scms.repository.GradeRepository;
 import com.scms.repository.StudentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,8 +14,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -25,6 +33,24 @@ class StudentServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private VerifiedCredentialCache verifiedCredentials;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private GradeRepository gradeRepository;
+
+    @Mock
+    private CourseSeatRegistry courseSeatRegistry;
+
+    @Mock
+    private GpaAggregateService gpaAggregateService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private StudentService studentService;
 
@@ -36,13 +62,13 @@ class StudentServiceTest {
         testStudent.setId(1L);
         testStudent.setName("John Doe");
         testStudent.setEmail("john@test.com");
-        testStudent.setPassword("encodedPassword");
+        testStudent.setPassword("$2a$10$encodedPassword");
     }
 
     @Test
     void registerStudent_Success() {
         when(studentRepository.existsByEmail("john@test.com")).thenReturn(false);
-        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
+        when(passwordEncoder.encode("password123")).thenReturn("$2a$10$encodedPassword");
         when(studentRepository.save(any(Student.class))).thenReturn(testStudent);
 
         Student result = studentService.registerStudent("John Doe", "john@test.com", "password123");
@@ -70,26 +96,77 @@ class StudentServiceTest {
     @Test
     void authenticateStudent_Success() {
         when(studentRepository.findByEmail("john@test.com")).thenReturn(Optional.of(testStudent));
-        when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
+        when(passwordEncoder.matches("password123", "$2a$10$encodedPassword")).thenReturn(true);
 
         Optional<Student> result = studentService.authenticateStudent("john@test.com", "password123");
 
         assertTrue(result.isPresent());
         assertEquals(testStudent, result.get());
         verify(studentRepository).findByEmail("john@test.com");
-        verify(passwordEncoder).matches("password123", "encodedPassword");
+        verify(passwordEncoder).matches("password123", "$2a$10$encodedPassword");
     }
 
     @Test
     void authenticateStudent_InvalidCredentials() {
         when(studentRepository.findByEmail("john@test.com")).thenReturn(Optional.of(testStudent));
-        when(passwordEncoder.matches("wrongPassword", "encodedPassword")).thenReturn(false);
+        when(passwordEncoder.matches("wrongPassword", "$2a$10$encodedPassword")).thenReturn(false);
 
         Optional<Student> result = studentService.authenticateStudent("john@test.com", "wrongPassword");
 
         assertFalse(result.isPresent());
         verify(studentRepository).findByEmail("john@test.com");
-        verify(passwordEncoder).matches("wrongPassword", "encodedPassword");
+        verify(passwordEncoder).matches("wrongPassword", "$2a$10$encodedPassword");
+    }
+
+    @Test
+    void authenticateStudent_OutdatedEncoding_RehashedAndRemembered() {
+        when(studentRepository.findByEmail("john@test.com")).thenReturn(Optional.of(testStudent));
+        when(passwordEncoder.matches("password123", "$2a$10$encodedPassword")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("$2a$10$encodedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("strongerPassword");
+
+        Optional<Student> result = studentService.authenticateStudent("john@test.com", "password123", "session-1");
+
+        assertTrue(result.isPresent());
+        assertEquals("strongerPassword", testStudent.getPassword());
+        verify(studentRepository).save(testStudent);
+        verify(verifiedCredentials).remember("session-1", "student", "john@test.com", "password123", "strongerPassword");
+    }
+
+    @Test
+    void authenticateStudent_PlaintextNotYetMigrated_LeftForMigration() {
+        testStudent.setPassword("password123");
+        when(studentRepository.findByEmail("john@test.com")).thenReturn(Optional.of(testStudent));
+
+        Optional<Student> result = studentService.authenticateStudent("john@test.com", "password123");
+
+        assertTrue(result.isPresent());
+        assertEquals("password123", testStudent.getPassword());
+        verify(studentRepository, never()).save(any());
+        verifyNoInteractions(passwordEncoder);
+    }
+
+    @Test
+    void authenticateStudent_PlaintextNotYetMigrated_WrongPassword() {
+        testStudent.setPassword("password123");
+        when(studentRepository.findByEmail("john@test.com")).thenReturn(Optional.of(testStudent));
+
+        Optional<Student> result = studentService.authenticateStudent("john@test.com", "password1234");
+
+        assertFalse(result.isPresent());
+        verify(studentRepository, never()).save(any());
+    }
+
+    @Test
+    void authenticateStudent_VerifiedSession_SkipsPasswordCheck() {
+        when(studentRepository.findByEmail("john@test.com")).thenReturn(Optional.of(testStudent));
+        when(verifiedCredentials.isVerified("session-1", "student", "john@test.com", "password123", "$2a$10$encodedPassword"))
+            .thenReturn(true);
+
+        Optional<Student> result = studentService.authenticateStudent("john@test.com", "password123", "session-1");
+
+        assertTrue(result.isPresent());
+        verifyNoInteractions(passwordEncoder);
     }
 
     @Test
@@ -112,4 +189,29 @@ class StudentServiceTest {
         assertFalse(result.isPresent());
         verify(studentRepository).findById(999L);
     }
+
+    @Test
+    void deleteStudent_ReleasesHeldSeats() {
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(testStudent));
+        when(enrollmentRepository.findByStudent(testStudent)).thenReturn(List.of(
+            enrollment(10L, Enrollment.EnrollmentStatus.PENDING),
+            enrollment(11L, Enrollment.EnrollmentStatus.ACTIVE),
+            enrollment(12L, Enrollment.EnrollmentStatus.WITHDRAWN)));
+        when(gradeRepository.findByStudent(testStudent)).thenReturn(List.of());
+
+        studentService.deleteStudent(1L);
+
+        verify(courseSeatRegistry).release(10L);
+        verify(courseSeatRegistry).release(11L);
+        verify(courseSeatRegistry, never()).release(12L);
+        verify(studentRepository).deleteById(1L);
+    }
+
+    private Enrollment enrollment(Long courseId, Enrollment.EnrollmentStatus status) {
+        Course course = new Course();
+        course.setId(courseId);
+        Enrollment enrollment = new Enrollment(testStudent, course);
+        enrollment.setStatus(status);
+        return enrollment;
+    }
 }